@@ -0,0 +1,84 @@
+package com.vfms.auth.security;
+
+import com.vfms.auth.model.Role;
+import com.vfms.auth.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request through the JWT filter, with the principal
+ * coming from the principal cache or, in stateless mode, from the token itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"principalCache", "stateless"})
+    public String mode;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        boolean stateless = mode.equals("stateless");
+        User user = User.builder()
+                .id(1)
+                .name("Bench Driver")
+                .email("bench.driver@fleetpro.com")
+                .password("unused")
+                .role(Role.DRIVER)
+                .build();
+
+        JwtService jwtService = new JwtService(SECRET, 86400000L);
+        TokenVersionRegistry tokenVersions = new TokenVersionRegistry(null, stateless);
+        tokenVersions.update(user.getId(), user.getTokenVersion());
+        filter = new JwtAuthenticationFilter(jwtService, email -> user,
+                new PrincipalCache(10000, Duration.ofMinutes(5)), tokenVersions, new SimpleMeterRegistry());
+
+        String token = stateless
+                ? jwtService.generateToken(Map.of(
+                        JwtClaims.ROLE_CLAIM, user.getRole().name(),
+                        JwtClaims.USER_ID_CLAIM, user.getId(),
+                        JwtClaims.TOKEN_VERSION_CLAIM, user.getTokenVersion()), user)
+                : jwtService.generateToken(user);
+        authorization = "Bearer " + token;
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/trips");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
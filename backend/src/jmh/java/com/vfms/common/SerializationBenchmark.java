@@ -0,0 +1,156 @@
+package com.vfms.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vfms.auth.model.Role;
+import com.vfms.auth.model.User;
+import com.vfms.fuel.dto.FuelRecordSummary;
+import com.vfms.fuel.model.FuelRecord;
+import com.vfms.trip.dto.TripSummary;
+import com.vfms.trip.model.Trip;
+import com.vfms.trip.model.TripStatus;
+import com.vfms.vehicle.model.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Jackson serialisation of list responses, entities against the projections the
+ * list endpoints now return. Output is discarded so only serialisation is timed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    @Param({"trip", "tripSummary", "user", "fuelRecord", "fuelRecordSummary"})
+    public String payload;
+
+    private ObjectMapper objectMapper;
+    private List<?> list;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the mapper Spring Boot configures for MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        list = switch (payload) {
+            case "trip" -> build(SerializationBenchmark::trip);
+            case "tripSummary" -> build(i -> tripSummary(trip(i)));
+            case "user" -> build(SerializationBenchmark::driver);
+            case "fuelRecord" -> build(SerializationBenchmark::fuelRecord);
+            case "fuelRecordSummary" -> build(i -> fuelRecordSummary(fuelRecord(i)));
+            default -> throw new IllegalArgumentException(payload);
+        };
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), list);
+    }
+
+    private List<Object> build(IntFunction<Object> factory) {
+        List<Object> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            result.add(factory.apply(i));
+        }
+        return result;
+    }
+
+    private static User driver(int i) {
+        return User.builder()
+                .id(i)
+                .name("Driver " + i)
+                .email("driver" + i + "@fleetpro.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3XwYb9F5u4cJ0lXZnV6p7yG")
+                .role(Role.DRIVER)
+                .phone("07" + (10000000 + i))
+                .licenseNumber("B" + (1000000 + i))
+                .status("Active")
+                .joinedDate(LocalDate.of(2024, 1, 1).plusDays(i % 365))
+                .build();
+    }
+
+    private static Vehicle vehicle(int i) {
+        return Vehicle.builder()
+                .id(i)
+                .make("Toyota")
+                .model("HiAce")
+                .licensePlate("CAB-" + (1000 + i))
+                .type("Van")
+                .status("AVAILABLE")
+                .year(2020)
+                .fuelLevel("75%")
+                .currentOdometer(40000.0 + i)
+                .build();
+    }
+
+    private static Trip trip(int i) {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0).plusHours(i);
+        return Trip.builder()
+                .id(i)
+                .startLocation("Colombo")
+                .endLocation("Kandy")
+                .startTime(start)
+                .endTime(start.plusHours(3))
+                .status(TripStatus.COMPLETED)
+                .driver(driver(i))
+                .vehicle(vehicle(i))
+                .requester(driver(i + 1))
+                .distance("115 km")
+                .startOdometer(40000.0)
+                .endOdometer(40115.0)
+                .fuelConsumed(12.5)
+                .notes("Delivered on time")
+                .build();
+    }
+
+    private static TripSummary tripSummary(Trip t) {
+        return new TripSummary(t.getId(), t.getStartLocation(), t.getEndLocation(), t.getStartTime(), t.getEndTime(),
+                t.getStatus(), t.getDistance(), t.getStartOdometer(), t.getEndOdometer(), t.getFuelConsumed(), t.getNotes(),
+                t.getDriver().getId(), t.getDriver().getName(), t.getDriver().getRole(),
+                t.getVehicle().getId(), t.getVehicle().getMake(), t.getVehicle().getModel(), t.getVehicle().getLicensePlate(),
+                t.getVehicle().getCurrentOdometer(),
+                t.getRequester().getId(), t.getRequester().getName(), t.getRequester().getRole());
+    }
+
+    private static FuelRecord fuelRecord(int i) {
+        return FuelRecord.builder()
+                .id(i)
+                .vehicle(vehicle(i))
+                .driver(driver(i))
+                .quantity(40.0)
+                .cost(14000.0)
+                .mileage(40000.0 + i * 10)
+                .date(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                .build();
+    }
+
+    private static FuelRecordSummary fuelRecordSummary(FuelRecord f) {
+        return new FuelRecordSummary(f.getId(), f.getDate(), f.getQuantity(), f.getCost(), f.getMileage(),
+                f.getVehicle().getId(), f.getVehicle().getMake(), f.getVehicle().getModel(), f.getVehicle().getLicensePlate(),
+                f.getVehicle().getCurrentOdometer(), f.getDriver().getId(), f.getDriver().getName(), f.getDriver().getRole());
+    }
+}
@@ -0,0 +1,108 @@
+package com.vfms.trip.service;
+
+import com.vfms.VfmsApplication;
+import com.vfms.report.service.FleetCounters;
+import com.vfms.trip.dto.TripCompletionRequest;
+import com.vfms.trip.model.Trip;
+import com.vfms.trip.model.TripStatus;
+import com.vfms.vehicle.model.Vehicle;
+import com.vfms.vehicle.repository.VehicleRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trip state transitions through the real service, repositories and
+ * transactions, against an in-memory H2 database in PostgreSQL mode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private TripService tripService;
+    private Vehicle vehicle;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Passed as arguments so they take precedence over application.properties
+        context = new SpringApplicationBuilder(VfmsApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                // Sequence alignment is PostgreSQL-only; H2 starts empty, so there is nothing to align
+                "--application.jdbc.align-id-sequences=false",
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--application.security.jwt.secret-key=404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970",
+                "--logging.level.root=WARN");
+        tripService = context.getBean(TripService.class);
+        vehicle = context.getBean(VehicleRepository.class).save(Vehicle.builder()
+                .make("Toyota")
+                .model("HiAce")
+                .licensePlate("BENCH-1")
+                .status(FleetCounters.VEHICLE_AVAILABLE)
+                .currentOdometer(0.0)
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Trip create() {
+        return tripService.createTrip(newTrip());
+    }
+
+    @Benchmark
+    public Trip startAndComplete(AssignedTrip trip) {
+        tripService.startTrip(trip.id);
+        return tripService.completeTrip(trip.id, TripCompletionRequest.builder()
+                .endOdometer(100.0)
+                .fuelConsumed(8.0)
+                .build());
+    }
+
+    private Trip newTrip() {
+        return Trip.builder()
+                .startLocation("Colombo")
+                .endLocation("Kandy")
+                .status(TripStatus.ASSIGNED)
+                .vehicle(vehicle)
+                .build();
+    }
+
+    /**
+     * A fresh ASSIGNED trip for every invocation, created outside the measurement.
+     */
+    @State(Scope.Thread)
+    public static class AssignedTrip {
+        private Integer id;
+
+        @Setup(Level.Invocation)
+        public void assign(TripServiceBenchmark benchmark) {
+            id = benchmark.tripService.createTrip(benchmark.newTrip()).getId();
+        }
+    }
+}
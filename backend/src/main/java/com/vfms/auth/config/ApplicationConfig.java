@@ -1,23 +1,38 @@
 package com.vfms.auth.config;
 
 import com.vfms.auth.repository.UserRepository;
+import com.vfms.auth.security.BoundedPasswordEncoder;
+import com.vfms.auth.security.PrincipalCache;
+import com.vfms.auth.security.TimedPasswordEncoder;
+import com.vfms.common.web.ResourceVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final PrincipalCache principalCache;
+    private final ResourceVersions versions;
 
     @Bean
     public UserDetailsService userDetailsService() {
@@ -25,11 +40,28 @@ public class ApplicationConfig {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
+    /**
+     * Stores hashes re-encoded at the configured strength after a successful login.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> userRepository.findByEmail(user.getUsername())
+                .map(stored -> {
+                    stored.setPassword(newPassword);
+                    principalCache.evict(stored.getEmail());
+                    UserDetails saved = userRepository.save(stored);
+                    versions.changed(ResourceVersions.USERS, stored.getId());
+                    return saved;
+                })
+                .orElse(user);
+    }
+
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
@@ -38,8 +70,24 @@ public class ApplicationConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt on a dedicated, bounded pool; requests beyond the queue get 429.
+     * Raising the strength upgrades existing hashes as users log in.
+     */
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${application.security.password.bcrypt-strength:10}") int strength,
+            @Value("${application.security.password.hash-threads:0}") int threads,
+            @Value("${application.security.password.hash-queue-capacity:64}") int queueCapacity,
+            @Value("${application.security.password.hash-timeout:10s}") Duration timeout
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        PasswordEncoder bcrypt = new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry);
+        return new BoundedPasswordEncoder(bcrypt, poolSize, queueCapacity, timeout);
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public MeterBinder principalCacheMetrics() {
+        return registry -> CaffeineCacheMetrics.monitor(registry, principalCache.getNativeCache(), "principals");
     }
 }
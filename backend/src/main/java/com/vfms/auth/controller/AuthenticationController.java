@@ -4,6 +4,7 @@ import com.vfms.auth.dto.AuthenticationRequest;
 import com.vfms.auth.dto.AuthenticationResponse;
 import com.vfms.auth.dto.RegisterRequest;
 import com.vfms.auth.service.AuthenticationService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -49,8 +50,8 @@ public class AuthenticationController {
 
     @PostMapping("/authenticate")
     public ResponseEntity<AuthenticationResponse> authenticate(
-            @RequestBody AuthenticationRequest request) {
-        return ResponseEntity.ok(service.authenticate(request));
+            @RequestBody AuthenticationRequest request, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(service.authenticate(request, httpRequest.getRemoteAddr()));
     }
 
     @PostMapping("/forgot-password")
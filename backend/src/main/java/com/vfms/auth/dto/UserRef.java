@@ -0,0 +1,13 @@
+package com.vfms.auth.dto;
+
+import com.vfms.auth.model.Role;
+
+/**
+ * The parts of a user that list views render next to other entities.
+ */
+public record UserRef(Integer id, String name, Role role) {
+
+    public static UserRef of(Integer id, String name, Role role) {
+        return id != null ? new UserRef(id, name, role) : null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.vfms.auth.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last suffix handed out for each generated email base, e.g. {@code jane.doe.driver}.
+ * Only written by {@link com.vfms.auth.service.EmailAllocator}; mapped so the schema
+ * is created with the rest.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "email_allocation")
+public class EmailAllocation {
+
+    @Id
+    private String base;
+
+    @Column(nullable = false)
+    private Integer lastSuffix;
+}
@@ -1,10 +1,13 @@
 package com.vfms.auth.model;
 
+import com.vfms.common.jdbc.IdSequences;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,11 +21,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "_user")
+@Table(name = "_user", indexes = @Index(name = "idx_user_role", columnList = "role"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence rather than identity so bulk driver onboarding can batch its inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "_user_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
     private Integer id;
 
     private String name;
@@ -56,6 +63,15 @@ public class User implements UserDetails {
     private String passwordResetToken;
     private java.time.LocalDateTime passwordResetTokenExpiry;
 
+    // Bumped whenever issued tokens must stop being accepted
+    @Builder.Default
+    @Column(columnDefinition = "integer default 0")
+    private Integer tokenVersion = 0;
+
+    public void revokeTokens() {
+        tokenVersion = (tokenVersion == null ? 0 : tokenVersion) + 1;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
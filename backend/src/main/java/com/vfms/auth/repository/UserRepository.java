@@ -1,11 +1,75 @@
 package com.vfms.auth.repository;
 
 import com.vfms.auth.model.User;
+import com.vfms.common.dto.StatusCount;
+import com.vfms.driver.dto.DriverSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByEmail(String email);
     Optional<User> findByEmailVerificationToken(String token);
     Optional<User> findByPasswordResetToken(String token);
+
+    String DRIVER_FILTER = "from User u where u.role = com.vfms.auth.model.Role.DRIVER "
+            + "and (:status is null or u.status = :status) "
+            + "and (:search is null or lower(u.name) like :search escape '\\' "
+            + "or lower(u.licenseNumber) like :search escape '\\')";
+
+    /**
+     * @param search A lower-case LIKE pattern matched against name and license number, or null.
+     * @param status An exact driver status, or null.
+     */
+    @Query(value = "select new com.vfms.driver.dto.DriverSummary("
+            + "u.id, u.name, u.email, u.phone, u.licenseNumber, u.status, u.joinedDate, u.avatarUrl) "
+            + DRIVER_FILTER,
+            countQuery = "select count(u) " + DRIVER_FILTER)
+    Page<DriverSummary> findDriverSummaries(String search, String status, Pageable pageable);
+
+    /**
+     * Drivers who can be dispatched at all, i.e. not on leave, ordered by name.
+     */
+    @Query("select new com.vfms.driver.dto.DriverSummary("
+            + "u.id, u.name, u.email, u.phone, u.licenseNumber, u.status, u.joinedDate, u.avatarUrl) "
+            + "from User u where u.role = com.vfms.auth.model.Role.DRIVER "
+            + "and (u.status is null or u.status <> 'ON_LEAVE') order by u.name, u.id")
+    List<DriverSummary> findDispatchableDrivers();
+
+    @Query("select u.status as status, count(u) as count from User u "
+            + "where u.role = com.vfms.auth.model.Role.DRIVER group by u.status")
+    List<StatusCount> countDriversByStatus();
+
+    /**
+     * Loads a user and locks its row until the transaction ends, to serialize changes
+     * made on its behalf across instances.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findAndLockById(Integer id);
+
+    @Query("select u.id from User u where u.id in :ids")
+    Set<Integer> findExistingIds(Collection<Integer> ids);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    @Query("select u.licenseNumber from User u where u.licenseNumber in :licenseNumbers")
+    Set<String> findExistingLicenseNumbers(Collection<String> licenseNumbers);
+
+    @Query("select u.id as id, u.tokenVersion as tokenVersion from User u")
+    List<TokenVersionView> findAllTokenVersions();
+
+    interface TokenVersionView {
+        Integer getId();
+        Integer getTokenVersion();
+    }
 }
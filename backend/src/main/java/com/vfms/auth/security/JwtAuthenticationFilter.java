@@ -1,27 +1,46 @@
 package com.vfms.auth.security;
 
+import com.vfms.auth.model.Role;
+import com.vfms.auth.model.User;
+import com.vfms.common.logging.LogSampler;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final LogSampler DEBUG_SAMPLER = LogSampler.oneIn(100);
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final MeterRegistry meterRegistry;
+    // Lets the async dispatch that completes a streamed response see the same authentication
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 
     @Override
     protected void doFilterInternal(
@@ -34,21 +53,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            System.out.println("Debug: No Bearer token found in header");
+            if (log.isTraceEnabled()) {
+                log.trace("No bearer token on {} {}", request.getMethod(), request.getRequestURI());
+            }
             filterChain.doFilter(request, response);
             return;
         }
 
         jwt = authHeader.substring(7);
         try {
-            username = jwtService.extractUsername(jwt);
-            System.out.println("Debug: Extracted username from token: " + username);
+            // Signature and expiry are verified here, once per request
+            JwtClaims claims = validate(jwt);
+            username = claims.getSubject();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                System.out.println("Debug: User loaded from DB: " + userDetails.getUsername());
+                UserDetails userDetails = resolvePrincipal(claims);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -57,16 +78,75 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authToken.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(request)
                     );
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    System.out.println("Debug: Authentication successful, SecurityContext set.");
-                } else {
-                    System.out.println("Debug: Token validation failed!");
+                    SecurityContext context = SecurityContextHolder.getContext();
+                    context.setAuthentication(authToken);
+                    securityContextRepository.saveContext(context, request, response);
+                    if (shouldLogDebug()) {
+                        log.debug("Authenticated {} for {} {}", username, request.getMethod(), request.getRequestURI());
+                    }
+                } else if (shouldLogDebug()) {
+                    log.debug("Rejected revoked or mismatched token for {}", username);
                 }
             }
-        } catch (Exception e) {
-            System.out.println("Debug: Auth Filter Exception: " + e.getMessage());
-            e.printStackTrace();
+        } catch (JwtException | AuthenticationException e) {
+            // Expired, tampered or unknown-user tokens are routine; the request continues unauthenticated
+            if (shouldLogDebug()) {
+                log.debug("Rejected token: {}", e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unexpected error authenticating {} {}", request.getMethod(), request.getRequestURI(), e);
         }
         filterChain.doFilter(request, response);
     }
+
+    // Every request passes through here: TRACE logs all of them, DEBUG a sample
+    private boolean shouldLogDebug() {
+        return log.isTraceEnabled() || (log.isDebugEnabled() && DEBUG_SAMPLER.sample());
+    }
+
+    private JwtClaims validate(String jwt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            JwtClaims claims = jwtService.validateToken(jwt);
+            outcome = "valid";
+            return claims;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.jwt.validation", "outcome", outcome));
+        }
+    }
+
+    /**
+     * Returns the principal for a verified token, or null if it has been revoked.
+     * In stateless mode a token for a user with a known token version is trusted
+     * without touching the database; everything else falls back to the user lookup.
+     */
+    private UserDetails resolvePrincipal(JwtClaims claims) {
+        if (tokenVersions.isEnabled() && claims.isStateless()) {
+            Integer currentVersion = tokenVersions.currentVersion(claims.getUserId());
+            if (currentVersion != null) {
+                return currentVersion.equals(claims.getTokenVersion()) ? principalFromClaims(claims) : null;
+            }
+        }
+
+        UserDetails userDetails = principalCache.get(claims.getSubject(), userDetailsService::loadUserByUsername);
+
+        if (!claims.getSubject().equals(userDetails.getUsername())) {
+            return null;
+        }
+        if (claims.getTokenVersion() != null && userDetails instanceof User user
+                && !claims.getTokenVersion().equals(user.getTokenVersion())) {
+            return null;
+        }
+        return userDetails;
+    }
+
+    private User principalFromClaims(JwtClaims claims) {
+        return User.builder()
+                .id(claims.getUserId())
+                .email(claims.getSubject())
+                .role(Role.valueOf(claims.getRole()))
+                .tokenVersion(claims.getTokenVersion())
+                .build();
+    }
 }
@@ -0,0 +1,44 @@
+package com.vfms.auth.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Typed view of a verified token's claims.
+ */
+@Value
+@Builder
+public class JwtClaims {
+
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    String subject;
+    String role;
+    Integer userId;
+    Integer tokenVersion;
+    Instant issuedAt;
+    Instant expiresAt;
+
+    static JwtClaims from(Claims claims) {
+        return JwtClaims.builder()
+                .subject(claims.getSubject())
+                .role(claims.get(ROLE_CLAIM, String.class))
+                .userId(claims.get(USER_ID_CLAIM, Integer.class))
+                .tokenVersion(claims.get(TOKEN_VERSION_CLAIM, Integer.class))
+                .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+                .expiresAt(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+                .build();
+    }
+
+    /**
+     * True when the token carries everything needed to authenticate without a user lookup.
+     */
+    public boolean isStateless() {
+        return role != null && userId != null && tokenVersion != null;
+    }
+}
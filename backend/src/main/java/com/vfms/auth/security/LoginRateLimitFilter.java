@@ -0,0 +1,50 @@
+package com.vfms.auth.security;
+
+import com.vfms.common.ratelimit.RateLimitExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Per-IP limit on the unauthenticated credential endpoints. Runs inside the
+ * security chain, after CORS, so browsers can read the 429.
+ */
+@RequiredArgsConstructor
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    static final Set<String> LIMITED_PATHS = Set.of("/api/auth/authenticate", "/api/auth/forgot-password");
+
+    private final LoginRateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        // The client's address, as resolved from X-Forwarded-For by server.forward-headers-strategy
+        long wait = rateLimiter.tryAcquireForIp(request.getRemoteAddr());
+        if (wait > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(RateLimitExceededException.retryAfterSeconds(wait)));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many attempts, retry later");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
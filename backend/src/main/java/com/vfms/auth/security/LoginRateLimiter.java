@@ -0,0 +1,113 @@
+package com.vfms.auth.security;
+
+import com.vfms.common.ratelimit.RateLimitExceededException;
+import com.vfms.common.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limits login and password-reset attempts per client IP, failed logins per IP and
+ * email, and reset requests per email, so credential stuffing is turned away before
+ * any user lookup or BCrypt compare.
+ * <p>
+ * Failed logins are keyed by IP and email together and only failures are charged,
+ * so nobody can lock a user out by guessing their password from elsewhere.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final RateLimiter byIp;
+    private final RateLimiter failedLogins;
+    private final RateLimiter passwordResets;
+    private final Counter ipRejections;
+    private final Counter loginRejections;
+    private final Counter resetRejections;
+
+    public LoginRateLimiter(
+            @Value("${application.security.login-rate-limit.enabled:true}") boolean enabled,
+            @Value("${application.security.login-rate-limit.per-ip.capacity:60}") int ipCapacity,
+            @Value("${application.security.login-rate-limit.per-ip.refill-period:1m}") Duration ipRefill,
+            @Value("${application.security.login-rate-limit.failed-login.capacity:5}") int loginCapacity,
+            @Value("${application.security.login-rate-limit.failed-login.refill-period:5m}") Duration loginRefill,
+            @Value("${application.security.login-rate-limit.password-reset.capacity:3}") int resetCapacity,
+            @Value("${application.security.login-rate-limit.password-reset.refill-period:15m}") Duration resetRefill,
+            @Value("${application.security.login-rate-limit.max-keys:100000}") long maxKeys,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.byIp = new RateLimiter(ipCapacity, ipRefill, maxKeys);
+        this.failedLogins = new RateLimiter(loginCapacity, loginRefill, maxKeys);
+        this.passwordResets = new RateLimiter(resetCapacity, resetRefill, maxKeys);
+        this.ipRejections = Counter.builder("auth.rate_limited").tag("key", "ip").register(meterRegistry);
+        this.loginRejections = Counter.builder("auth.rate_limited").tag("key", "login").register(meterRegistry);
+        this.resetRejections = Counter.builder("auth.rate_limited").tag("key", "password_reset").register(meterRegistry);
+    }
+
+    /**
+     * @return 0 if the attempt is allowed, otherwise nanoseconds until it would be.
+     */
+    public long tryAcquireForIp(String ip) {
+        if (!enabled || ip == null) {
+            return 0;
+        }
+        long wait = byIp.tryAcquire(ip);
+        if (wait > 0) {
+            ipRejections.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Checks, without charging, that this client has failed logins left for this email.
+     *
+     * @throws RateLimitExceededException if this client has used up its failed logins.
+     */
+    public void checkLogin(String ip, String email) {
+        if (!enabled || email == null || email.isBlank()) {
+            return;
+        }
+        long wait = failedLogins.waitTime(loginKey(ip, email));
+        if (wait > 0) {
+            loginRejections.increment();
+            throw new RateLimitExceededException(wait);
+        }
+    }
+
+    /**
+     * Charges a failed login against this client and email.
+     */
+    public void loginFailed(String ip, String email) {
+        if (!enabled || email == null || email.isBlank()) {
+            return;
+        }
+        failedLogins.tryAcquire(loginKey(ip, email));
+    }
+
+    /**
+     * @throws RateLimitExceededException if this email has had too many reset requests.
+     */
+    public void checkPasswordReset(String email) {
+        if (!enabled || email == null || email.isBlank()) {
+            return;
+        }
+        long wait = passwordResets.tryAcquire(normalize(email));
+        if (wait > 0) {
+            resetRejections.increment();
+            throw new RateLimitExceededException(wait);
+        }
+    }
+
+    private static String loginKey(String ip, String email) {
+        return ip + "|" + normalize(email);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
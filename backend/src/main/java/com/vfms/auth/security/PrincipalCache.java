@@ -0,0 +1,82 @@
+package com.vfms.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vfms.auth.model.User;
+import com.vfms.common.jdbc.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicted cache of authenticated principals keyed by email.
+ * Saves the user lookup that the JWT filter would otherwise do on every request.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> cache;
+    // Bumped by every eviction, so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(
+            @Value("${application.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${application.security.principal-cache.ttl:5m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        UserDetails principal = cache.getIfPresent(email);
+        if (principal == null) {
+            // Loaded outside the cache's compute lock: a virtual thread blocking on JDBC
+            // inside it would pin its carrier. Racing loads for one user are harmless,
+            // but a load that started before an eviction may be stale and is not kept.
+            long loadedAt = generation.get();
+            UserDetails loaded = loader.apply(email);
+            cache.asMap().compute(email, (key, current) -> generation.get() == loadedAt ? loaded : current);
+            principal = loaded;
+        }
+        return principal;
+    }
+
+    /**
+     * Evicts a user's entry once the surrounding transaction commits, so the next
+     * request cannot reload the row as it was before the change.
+     */
+    public void evict(String email) {
+        if (email != null) {
+            AfterCommit.run(() -> {
+                generation.incrementAndGet();
+                cache.invalidate(email);
+            });
+        }
+    }
+
+    /**
+     * Evicts every entry belonging to the given user id once the surrounding transaction
+     * commits, so a changed email does not leave the old key behind.
+     */
+    public void evict(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            cache.asMap().values().removeIf(principal ->
+                    principal instanceof User user && userId.equals(user.getId()));
+        });
+    }
+
+    public Cache<String, UserDetails> getNativeCache() {
+        return cache;
+    }
+}
@@ -1,8 +1,12 @@
 package com.vfms.auth.security;
 
+import com.vfms.common.web.PageResponses;
+import com.vfms.common.web.RequestIdFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -26,6 +30,7 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -37,6 +42,8 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(List.of(PageResponses.NEXT_CURSOR_HEADER, PageResponses.TOTAL_COUNT_HEADER,
+                RequestIdFilter.REQUEST_ID_HEADER, HttpHeaders.RETRY_AFTER, HttpHeaders.ETAG));
         configuration.setAllowCredentials(false); // Must be false if allowedOrigins is "*" or use specific list with true
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -50,12 +57,14 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll() // Allow preflight checks
-                        .requestMatchers("/api/auth/**", "/", "/actuator/health").permitAll() // Allow Auth + Root + Health
+                        .requestMatchers("/api/auth/**", "/", "/error", "/healthz").permitAll() // Allow Auth + Root + Error + Health
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll() // Actuator only listens on the private management port
                         .anyRequest().authenticated())
 
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider)
+                .addFilterBefore(new LoginRateLimitFilter(loginRateLimiter), UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -0,0 +1,69 @@
+package com.vfms.auth.security;
+
+import com.vfms.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of every user's token version, used by the stateless auth mode
+ * to reject revoked tokens without a database lookup. Local changes are applied
+ * immediately; changes made elsewhere are picked up by the background refresh.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Map<Integer, Integer> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            @Value("${application.security.jwt.stateless:false}") boolean enabled
+    ) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The current token version, or null if the user is unknown to this instance.
+     */
+    public Integer currentVersion(Integer userId) {
+        return userId != null ? versions.get(userId) : null;
+    }
+
+    public void update(Integer userId, Integer tokenVersion) {
+        if (enabled && userId != null && tokenVersion != null) {
+            versions.merge(userId, tokenVersion, Math::max);
+        }
+    }
+
+    public void remove(Integer userId) {
+        if (userId != null) {
+            versions.remove(userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.jwt.token-version-refresh-ms:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        Set<Integer> present = new HashSet<>();
+        for (UserRepository.TokenVersionView row : userRepository.findAllTokenVersions()) {
+            present.add(row.getId());
+            // Versions only grow, so never let a stale read undo a local bump
+            update(row.getId(), row.getTokenVersion() != null ? row.getTokenVersion() : 0);
+        }
+        versions.keySet().retainAll(present);
+    }
+}
@@ -5,13 +5,24 @@ import com.vfms.auth.dto.AuthenticationResponse;
 import com.vfms.auth.dto.RegisterRequest;
 import com.vfms.auth.model.User;
 import com.vfms.auth.repository.UserRepository;
+import com.vfms.auth.security.JwtClaims;
 import com.vfms.auth.security.JwtService;
+import com.vfms.auth.security.LoginRateLimiter;
+import com.vfms.auth.security.PrincipalCache;
+import com.vfms.auth.security.TokenVersionRegistry;
+import com.vfms.common.web.ResourceVersions;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
@@ -20,6 +31,11 @@ public class AuthenticationService {
         private final PasswordEncoder passwordEncoder;
         private final JwtService jwtService;
         private final AuthenticationManager authenticationManager;
+        private final PrincipalCache principalCache;
+        private final TokenVersionRegistry tokenVersions;
+        private final LoginRateLimiter loginRateLimiter;
+        private final EmailAllocator emailAllocator;
+        private final ResourceVersions versions;
 
     /**
      * Admin creates a new user (Invite flow).
@@ -28,13 +44,9 @@ public class AuthenticationService {
      * Admin creates a new user (Auto-generate credentials).
      */
     public AuthenticationResponse signup(RegisterRequest request) {
-        // Auto-generate company email: name.role@fleetpro.com (simplified)
+        // Auto-generate company email: name.role@fleetpro.com, then name.role1@..., name.role2@...
         String sanitizedName = request.getName().toLowerCase().replaceAll("\\s+", ".");
-        String generatedEmail = sanitizedName + "." + request.getRole().name().toLowerCase() + "@fleetpro.com";
-        // Ensure uniqueness (simple append for MVP)
-        if (repository.findByEmail(generatedEmail).isPresent()) {
-            generatedEmail = sanitizedName + "." + request.getRole().name().toLowerCase() + (int)(Math.random() * 1000) + "@fleetpro.com";
-        }
+        String generatedEmail = emailAllocator.allocate(sanitizedName + "." + request.getRole().name().toLowerCase());
 
         // Auto-generate password
         String generatedPassword = "Pass" + (int)(Math.random() * 10000) + "!";
@@ -49,6 +61,7 @@ public class AuthenticationService {
                 .build();
 
         repository.save(user);
+        versions.changed(ResourceVersions.USERS, user.getId());
 
         return AuthenticationResponse.builder()
                 .token(null) // No token, just credentials
@@ -69,17 +82,31 @@ public class AuthenticationService {
         return null;
     }
 
-    public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()));
+    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp) {
+        loginRateLimiter.checkLogin(clientIp, request.getEmail());
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()));
+        } catch (AuthenticationException e) {
+            loginRateLimiter.loginFailed(clientIp, request.getEmail());
+            throw e;
+        }
         var user = repository.findByEmail(request.getEmail())
                 .orElseThrow();
         
         // No email verification check needed for this flow as admin creates verified users
-        
-        var jwtToken = jwtService.generateToken(user);
+
+        Map<String, Object> claims = new HashMap<>();
+        if (tokenVersions.isEnabled()) {
+            // Stateless mode: the filter authenticates from these claims alone
+            claims.put(JwtClaims.ROLE_CLAIM, user.getRole().name());
+            claims.put(JwtClaims.USER_ID_CLAIM, user.getId());
+            claims.put(JwtClaims.TOKEN_VERSION_CLAIM, user.getTokenVersion());
+            tokenVersions.update(user.getId(), user.getTokenVersion());
+        }
+        var jwtToken = jwtService.generateToken(claims, user);
         return AuthenticationResponse.builder()
                 .token(jwtToken)
                 .role(user.getRole().name())
@@ -91,20 +118,17 @@ public class AuthenticationService {
     }
 
     public void forgotPassword(String email) {
+        loginRateLimiter.checkPasswordReset(email);
         var user = repository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Email not found"));
         
         user.setPasswordResetToken(java.util.UUID.randomUUID().toString());
         user.setPasswordResetTokenExpiry(java.time.LocalDateTime.now().plusHours(1));
         repository.save(user);
+        versions.changed(ResourceVersions.USERS, user.getId());
         
-        // For MVP/Dev: Log the link to console since no Email Service is configured
-        String resetLink = "https://fleetpro-frontend.vercel.app/auth/reset-password?token=" + user.getPasswordResetToken();
-        System.out.println("==================================================");
-        System.out.println("PASSWORD RESET REQUEST FOR: " + email);
-        System.out.println("Reset Link: " + resetLink);
-        System.out.println("Token: " + user.getPasswordResetToken());
-        System.out.println("==================================================");
+        // No email service is configured yet; the token is a credential, so it is never logged
+        log.info("Password reset requested for {}", email);
     }
 
     public void resetPassword(String token, String newPassword) {
@@ -118,7 +142,11 @@ public class AuthenticationService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setPasswordResetToken(null);
         user.setPasswordResetTokenExpiry(null);
+        user.revokeTokens();
         repository.save(user);
+        principalCache.evict(user.getId());
+        tokenVersions.update(user.getId(), user.getTokenVersion());
+        versions.changed(ResourceVersions.USERS, user.getId());
     }
     public void changePassword(Integer userId, String newPassword) {
         var user = repository.findById(userId)
@@ -127,5 +155,7 @@ public class AuthenticationService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setPasswordChangeRequired(false);
         repository.save(user);
+        principalCache.evict(userId);
+        versions.changed(ResourceVersions.USERS, userId);
     }
 }
@@ -0,0 +1,50 @@
+package com.vfms.auth.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out unique company emails of the form {@code base@fleetpro.com},
+ * {@code base1@fleetpro.com}, {@code base2@fleetpro.com}, ...
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailAllocator {
+
+    public static final String DOMAIN = "fleetpro.com";
+
+    /*
+     * One statement, so it is atomic without an explicit transaction: concurrent
+     * callers for the same base queue on the row lock and each get the next suffix.
+     * The scan of existing users seeds a new base and keeps an existing one ahead of
+     * addresses created some other way, such as a bulk import.
+     */
+    private static final String ALLOCATE = """
+            insert into email_allocation (base, last_suffix)
+            select ?, coalesce(max(case when t.digits = '' then 0 else cast(t.digits as integer) end) + 1, 0)
+            from (
+                select substring(split_part(email, '@', 1) from ?) as digits
+                from _user
+                where split_part(email, '@', 2) = ? and left(split_part(email, '@', 1), ?) = ?
+            ) t
+            where t.digits ~ '^[0-9]{0,9}$'
+            on conflict (base) do update
+                set last_suffix = greatest(email_allocation.last_suffix + 1, excluded.last_suffix)
+            returning last_suffix
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserves the next free address for a base in a single round trip.
+     *
+     * @param base The local part before any suffix, e.g. {@code jane.doe.driver}.
+     * @return An address no other call will return.
+     */
+    public String allocate(String base) {
+        Integer suffix = jdbcTemplate.queryForObject(ALLOCATE, Integer.class,
+                base, base.length() + 1, DOMAIN, base.length(), base);
+        return (suffix == null || suffix == 0 ? base : base + suffix) + "@" + DOMAIN;
+    }
+}
@@ -2,6 +2,9 @@ package com.vfms.auth.service;
 
 import com.vfms.auth.model.User;
 import com.vfms.auth.repository.UserRepository;
+import com.vfms.auth.security.PrincipalCache;
+import com.vfms.auth.security.TokenVersionRegistry;
+import com.vfms.common.web.ResourceVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,6 +15,9 @@ import java.util.List;
 public class UserService {
 
     private final UserRepository repository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final ResourceVersions versions;
 
     public List<User> getAllUsers() {
         return repository.findAll();
@@ -23,14 +29,24 @@ public class UserService {
 
     public User updateUser(Integer id, User userDetails) {
         User user = getUserById(id);
+        boolean identityChanged = (userDetails.getEmail() != null && !userDetails.getEmail().equals(user.getEmail()))
+                || (userDetails.getRole() != null && userDetails.getRole() != user.getRole());
         if (userDetails.getName() != null) user.setName(userDetails.getName());
         if (userDetails.getEmail() != null) user.setEmail(userDetails.getEmail());
         if (userDetails.getRole() != null) user.setRole(userDetails.getRole());
         // Do not update password here
-        return repository.save(user);
+        if (identityChanged) user.revokeTokens();
+        User saved = repository.save(user);
+        principalCache.evict(id);
+        tokenVersions.update(id, saved.getTokenVersion());
+        versions.changed(ResourceVersions.USERS, id);
+        return saved;
     }
 
     public void deleteUser(Integer id) {
         repository.deleteById(id);
+        principalCache.evict(id);
+        tokenVersions.remove(id);
+        versions.changed(ResourceVersions.USERS, id);
     }
 }
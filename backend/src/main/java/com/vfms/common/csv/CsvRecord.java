@@ -0,0 +1,47 @@
+package com.vfms.common.csv;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One CSV record with its fields looked up by header column name, case-insensitively.
+ */
+public class CsvRecord {
+
+    private final List<String> fields;
+    private final Map<String, Integer> columns;
+
+    public CsvRecord(List<String> fields, Map<String, Integer> columns) {
+        this.fields = fields;
+        this.columns = columns;
+    }
+
+    /**
+     * @return The trimmed field, or null if the column is missing or the field is blank.
+     */
+    public String get(String column) {
+        Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    /**
+     * @return The parsed field, or null if it is missing or blank.
+     * @throws IllegalArgumentException naming the column and value if {@code parser} rejects it.
+     */
+    public <T> T get(String column, Function<String, T> parser) {
+        String value = get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+}
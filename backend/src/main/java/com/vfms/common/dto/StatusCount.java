@@ -0,0 +1,12 @@
+package com.vfms.common.dto;
+
+/**
+ * Row of a {@code group by status} aggregate.
+ */
+public interface StatusCount {
+
+    // String or enum, depending on how the entity maps its status
+    Object getStatus();
+
+    long getCount();
+}
@@ -0,0 +1,12 @@
+package com.vfms.common.event;
+
+/**
+ * What happened to an entity in a change event.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    STARTED,
+    COMPLETED,
+    DELETED
+}
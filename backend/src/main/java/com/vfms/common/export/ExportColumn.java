@@ -0,0 +1,9 @@
+package com.vfms.common.export;
+
+import java.util.function.Function;
+
+/**
+ * One CSV column of an export: its header and how to read it from a row.
+ */
+public record ExportColumn<T>(String header, Function<T, Object> value) {
+}
@@ -0,0 +1,18 @@
+package com.vfms.common.export;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    csv(new MediaType("text", "csv")),
+    ndjson(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,102 @@
+package com.vfms.common.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vfms.common.csv.CsvWriter;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows straight to the response as CSV or NDJSON. Rows are
+ * written as they are read from the database cursor, so memory use does not
+ * depend on how many rows the export has.
+ */
+@Component
+public class StreamingExporter {
+
+    /**
+     * Rows fetched per database round-trip by export cursors.
+     */
+    public static final int FETCH_SIZE = 500;
+    public static final String FETCH_SIZE_HINT = "" + FETCH_SIZE;
+
+    private final ObjectWriter jsonWriter;
+
+    public StreamingExporter(ObjectMapper objectMapper) {
+        // Let the buffers decide when to hit the socket instead of flushing every row
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public static ResponseEntity<StreamingResponseBody> response(String name, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.name())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
+    public <T> void write(Stream<T> rows, ExportFormat format, List<ExportColumn<T>> columns, OutputStream out) throws IOException {
+        try {
+            if (format == ExportFormat.csv) {
+                writeCsv(rows, columns, out);
+            } else {
+                writeNdjson(rows, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> void writeCsv(Stream<T> rows, List<ExportColumn<T>> columns, OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRow(columns.stream().map(ExportColumn::header).toList());
+        // Get the header out before the query has produced its first row
+        csv.flush();
+
+        List<Object> values = new ArrayList<>(columns.size());
+        rows.forEach(row -> {
+            values.clear();
+            for (ExportColumn<T> column : columns) {
+                values.add(column.value().apply(row));
+            }
+            try {
+                csv.writeRow(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        csv.flush();
+    }
+
+    private <T> void writeNdjson(Stream<T> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = jsonWriter.createGenerator(out);
+        generator.setRootValueSeparator(null);
+        rows.forEach(row -> {
+            try {
+                jsonWriter.writeValue(generator, row);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+}
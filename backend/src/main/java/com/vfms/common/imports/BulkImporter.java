@@ -0,0 +1,219 @@
+package com.vfms.common.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vfms.common.csv.CsvReader;
+import com.vfms.common.csv.CsvRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Streams the rows of a bulk import from JSON or CSV and hands them to a {@link Handler}
+ * a batch at a time, so memory stays flat however large the input is. Rows are numbered
+ * from 1 in input order, not counting a CSV header. A batch that fails to save is retried
+ * row by row so one bad row does not lose the others.
+ */
+@Slf4j
+public class BulkImporter {
+
+    private final String name;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxRows;
+
+    /**
+     * @param name Names the import in log messages.
+     */
+    public BulkImporter(String name, ObjectMapper objectMapper, int batchSize, int maxRows) {
+        this.name = name;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Reads a JSON array of {@code rowType}.
+     */
+    public <R, P> void importJson(InputStream body, Class<R> rowType, Handler<R, P> handler) {
+        Batches<R, P> batches = new Batches<>(handler);
+        int rowNumber = 0;
+        try (MappingIterator<R> rows = objectMapper.readerFor(rowType).readValues(body)) {
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                if (limitReached(handler, rowNumber)) {
+                    break;
+                }
+                handler.received(rowNumber);
+                try {
+                    batches.add(new NumberedRow<>(rowNumber, rows.nextValue()));
+                } catch (JsonMappingException e) {
+                    // The iterator skips to the next array element
+                    handler.rejected(rowNumber, "Invalid row: " + e.getOriginalMessage());
+                } catch (JsonProcessingException e) {
+                    // Broken syntax inside this row; nothing after it can be read
+                    handler.rejected(rowNumber, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            handler.rejected(rowNumber + 1, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read import: " + e.getMessage());
+        }
+        batches.flush();
+    }
+
+    /**
+     * Reads CSV with a header line naming the columns, in any order.
+     *
+     * @param columns         Every column the import understands, lower case.
+     * @param requiredColumns Columns the header must name, lower case.
+     * @param parser          Turns a record into a row, throwing {@link IllegalArgumentException} to reject it.
+     */
+    public <R, P> void importCsv(InputStream body, List<String> columns, List<String> requiredColumns,
+                                 Function<CsvRecord, R> parser, Handler<R, P> handler) {
+        Batches<R, P> batches = new Batches<>(handler);
+        int rowNumber = 0;
+        try {
+            CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+            Map<String, Integer> header = readHeader(csv.next(), columns, requiredColumns);
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                rowNumber++;
+                if (limitReached(handler, rowNumber)) {
+                    break;
+                }
+                handler.received(rowNumber);
+                try {
+                    batches.add(new NumberedRow<>(rowNumber, parser.apply(new CsvRecord(fields, header))));
+                } catch (IllegalArgumentException e) {
+                    handler.rejected(rowNumber, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            handler.rejected(rowNumber + 1, "Malformed CSV, import stopped: " + e.getMessage());
+        }
+        batches.flush();
+    }
+
+    // Rows before the limit are still validated and saved; the caller gets them back with the error
+    private boolean limitReached(Handler<?, ?> handler, int rowNumber) {
+        if (rowNumber <= maxRows) {
+            return false;
+        }
+        handler.rejected(rowNumber, "Imports are limited to " + maxRows + " rows, import stopped");
+        return true;
+    }
+
+    private static Map<String, Integer> readHeader(List<String> header, List<String> columns, List<String> requiredColumns) {
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV import is empty");
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            indexes.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!indexes.keySet().containsAll(requiredColumns)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CSV header must name the columns " + String.join(",", columns));
+        }
+        return indexes;
+    }
+
+    /**
+     * Validates and saves the rows of one import. Implementations keep the import's result.
+     *
+     * @param <R> Row as read from the input.
+     * @param <P> Row once validated, ready to save.
+     */
+    public interface Handler<R, P> {
+
+        /**
+         * Called with each row number as it is read.
+         */
+        void received(int rows);
+
+        /**
+         * Reports a row that could not be read, or where the import stopped.
+         */
+        void rejected(int row, String message);
+
+        /**
+         * Validates a batch, reporting rows that fail.
+         *
+         * @return The rows to save, in order.
+         */
+        List<NumberedRow<P>> prepare(List<NumberedRow<R>> batch);
+
+        /**
+         * Saves rows in one transaction and records them as saved. Called with each prepared
+         * batch, then with one row at a time if the batch fails.
+         */
+        void save(List<NumberedRow<P>> rows);
+
+        /**
+         * Reports a row that failed to save on its own.
+         */
+        void saveFailed(NumberedRow<P> row, String message);
+    }
+
+    public record NumberedRow<T>(int number, T row) {
+    }
+
+    private final class Batches<R, P> {
+
+        private final Handler<R, P> handler;
+        private final List<NumberedRow<R>> batch = new ArrayList<>(batchSize);
+
+        Batches(Handler<R, P> handler) {
+            this.handler = handler;
+        }
+
+        void add(NumberedRow<R> row) {
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<NumberedRow<P>> prepared = handler.prepare(List.copyOf(batch));
+            batch.clear();
+            if (prepared.isEmpty()) {
+                return;
+            }
+            try {
+                handler.save(prepared);
+            } catch (DataAccessException e) {
+                // Find the offending rows one by one so the rest of the batch still lands
+                log.warn("{} import batch of {} failed, retrying row by row: {}", name, prepared.size(), e.getMessage());
+                for (NumberedRow<P> row : prepared) {
+                    try {
+                        handler.save(List.of(row));
+                    } catch (DataAccessException rowError) {
+                        handler.saveFailed(row, "Could not be saved: " + rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+    }
+}
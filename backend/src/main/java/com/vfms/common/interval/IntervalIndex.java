@@ -0,0 +1,211 @@
+package com.vfms.common.interval;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of booked half-open intervals {@code [start, end)}, grouped by key
+ * (a vehicle, a driver). Each booking has an id, so it can be moved or removed later.
+ * <p>
+ * Every key's bookings are kept in an immutable snapshot of arrays sorted by start,
+ * with a running maximum of end times. An overlap query is then two binary searches,
+ * whether or not the bookings themselves overlap. Writes are serialized and copy only
+ * the affected key's arrays; reads take no lock.
+ *
+ * @param <K> The key bookings are grouped by.
+ */
+public class IntervalIndex<K> {
+
+    private volatile Map<K, Bookings> byKey = new ConcurrentHashMap<>();
+    private volatile Map<Long, K> keyById = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a booking, or moves it if the id is already indexed.
+     */
+    public synchronized void put(long id, K key, long start, long end) {
+        removeFrom(byKey, keyById, id);
+        add(byKey, keyById, id, key, start, end);
+    }
+
+    public synchronized void remove(long id) {
+        removeFrom(byKey, keyById, id);
+    }
+
+    /**
+     * Replaces the whole index, e.g. after reloading from the database.
+     */
+    public synchronized void replaceAll(Collection<Booking<K>> bookings) {
+        Map<K, Bookings> nextByKey = new ConcurrentHashMap<>();
+        Map<Long, K> nextKeyById = new ConcurrentHashMap<>();
+        for (Booking<K> booking : bookings) {
+            removeFrom(nextByKey, nextKeyById, booking.id());
+            add(nextByKey, nextKeyById, booking.id(), booking.key(), booking.start(), booking.end());
+        }
+        byKey = nextByKey;
+        keyById = nextKeyById;
+    }
+
+    /**
+     * @return True if no booking for the key overlaps {@code [start, end)}.
+     */
+    public boolean isFree(K key, long start, long end) {
+        return findOverlap(key, start, end, null).isEmpty();
+    }
+
+    /**
+     * Finds a booking for the key that overlaps {@code [start, end)}.
+     *
+     * @param ignoreId A booking to disregard, typically the one being rescheduled, or null.
+     * @return The id of an overlapping booking, if any.
+     */
+    public OptionalLong findOverlap(K key, long start, long end, Long ignoreId) {
+        Bookings bookings = byKey.get(key);
+        return bookings != null ? bookings.findOverlap(start, end, ignoreId) : OptionalLong.empty();
+    }
+
+    /**
+     * @return The key a booking is indexed under, or null.
+     */
+    public K keyOf(long id) {
+        return keyById.get(id);
+    }
+
+    public int size() {
+        return keyById.size();
+    }
+
+    private static <K> void add(Map<K, Bookings> byKey, Map<Long, K> keyById, long id, K key, long start, long end) {
+        byKey.put(key, byKey.getOrDefault(key, Bookings.EMPTY).with(id, start, end));
+        keyById.put(id, key);
+    }
+
+    private static <K> void removeFrom(Map<K, Bookings> byKey, Map<Long, K> keyById, long id) {
+        K previous = keyById.remove(id);
+        if (previous != null) {
+            Bookings remaining = byKey.get(previous).without(id);
+            if (remaining.isEmpty()) {
+                byKey.remove(previous);
+            } else {
+                byKey.put(previous, remaining);
+            }
+        }
+    }
+
+    public record Booking<K>(long id, K key, long start, long end) {
+    }
+
+    /**
+     * One key's bookings, sorted by start. {@code maxEnds[i]} is the latest end among
+     * bookings {@code 0..i}, which is non-decreasing and so binary-searchable.
+     */
+    private static final class Bookings {
+
+        static final Bookings EMPTY = new Bookings(new long[0], new long[0], new long[0]);
+
+        final long[] ids;
+        final long[] starts;
+        final long[] ends;
+        final long[] maxEnds;
+
+        Bookings(long[] ids, long[] starts, long[] ends) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            for (int i = 0; i < ends.length; i++) {
+                maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+            }
+        }
+
+        boolean isEmpty() {
+            return ids.length == 0;
+        }
+
+        Bookings with(long id, long start, long end) {
+            int at = firstStartAfter(start);
+            return new Bookings(insert(ids, at, id), insert(starts, at, start), insert(ends, at, end));
+        }
+
+        Bookings without(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return new Bookings(delete(ids, i), delete(starts, i), delete(ends, i));
+                }
+            }
+            return this;
+        }
+
+        OptionalLong findOverlap(long start, long end, Long ignoreId) {
+            // Only bookings starting before the query ends can overlap it...
+            int candidates = firstStartAtOrAfter(end);
+            if (candidates == 0 || maxEnds[candidates - 1] <= start) {
+                return OptionalLong.empty();
+            }
+            // ...and the first of them whose end passes the query start does
+            for (int i = firstMaxEndAfter(start, candidates); i < candidates; i++) {
+                if (ends[i] > start && (ignoreId == null || ids[i] != ignoreId)) {
+                    return OptionalLong.of(ids[i]);
+                }
+            }
+            return OptionalLong.empty();
+        }
+
+        private int firstStartAtOrAfter(long value) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int firstStartAfter(long value) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int firstMaxEndAfter(long value, int limit) {
+            int low = 0;
+            int high = limit;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxEnds[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static long[] insert(long[] values, int at, long value) {
+            long[] result = Arrays.copyOf(values, values.length + 1);
+            System.arraycopy(values, at, result, at + 1, values.length - at);
+            result[at] = value;
+            return result;
+        }
+
+        private static long[] delete(long[] values, int at) {
+            long[] result = Arrays.copyOf(values, values.length - 1);
+            System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+            return result;
+        }
+    }
+}
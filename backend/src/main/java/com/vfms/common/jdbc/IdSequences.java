@@ -0,0 +1,86 @@
+package com.vfms.common.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the pooled id sequences ahead of ids that already exist. Tables that
+ * started out with identity columns already hold rows, and a freshly created
+ * sequence would hand those ids out again.
+ * <p>
+ * Runs against the DataSource before the EntityManagerFactory is built, so no
+ * insert can draw from a sequence that is still behind, and the web server only
+ * starts once the sequences are aligned. The statements are PostgreSQL-specific;
+ * set {@code application.jdbc.align-id-sequences=false} on other databases.
+ */
+@Slf4j
+@Component(IdSequences.BEAN_NAME)
+@ConditionalOnProperty(name = IdSequences.ENABLED_PROPERTY, matchIfMissing = true)
+@RequiredArgsConstructor
+public class IdSequences implements InitializingBean {
+
+    static final String BEAN_NAME = "idSequences";
+    static final String ENABLED_PROPERTY = "application.jdbc.align-id-sequences";
+
+    /**
+     * Ids reserved per sequence call. Entities using a pooled sequence must use this allocation size.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private static final List<Sequence> SEQUENCES = List.of(
+            new Sequence("fuel_record", "fuel_record_seq"),
+            new Sequence("_user", "_user_seq")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        for (Sequence sequence : SEQUENCES) {
+            align(sequence.table(), sequence.name());
+        }
+    }
+
+    private void align(String table, String sequence) {
+        try {
+            // Created here rather than by schema update, which only runs once the EntityManagerFactory exists
+            jdbcTemplate.execute("create sequence if not exists " + sequence
+                    + " start with 1 increment by " + ALLOCATION_SIZE);
+            Boolean tableExists = jdbcTemplate.queryForObject(
+                    "select to_regclass(?) is not null", Boolean.class, table);
+            if (!Boolean.TRUE.equals(tableExists)) {
+                return;
+            }
+            // Never move a sequence backwards, another instance may already be handing out its range
+            jdbcTemplate.queryForObject("select setval('" + sequence + "', greatest("
+                    + "(select coalesce(max(id), 0) from " + table + ") + " + ALLOCATION_SIZE + ", "
+                    + "(select last_value from " + sequence + ")))", Long.class);
+        } catch (DataAccessException e) {
+            log.warn("Could not align sequence {} with {}: {}", sequence, table, e.getMessage());
+        }
+    }
+
+    private record Sequence(String table, String name) {
+    }
+
+    /**
+     * Makes the EntityManagerFactory wait for {@link IdSequences}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = ENABLED_PROPERTY, matchIfMissing = true)
+    static class EntityManagerFactoryDependsOnIdSequences extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnIdSequences() {
+            super(BEAN_NAME);
+        }
+    }
+}
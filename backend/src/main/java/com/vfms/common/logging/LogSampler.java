@@ -0,0 +1,25 @@
+package com.vfms.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one call in every {@code n} through, for debug logging on paths hit by
+ * every request. Check the logger level first so disabled logging costs nothing.
+ */
+public final class LogSampler {
+
+    private final long n;
+    private final AtomicLong calls = new AtomicLong();
+
+    private LogSampler(long n) {
+        this.n = n;
+    }
+
+    public static LogSampler oneIn(long n) {
+        return new LogSampler(Math.max(1, n));
+    }
+
+    public boolean sample() {
+        return calls.getAndIncrement() % n == 0;
+    }
+}
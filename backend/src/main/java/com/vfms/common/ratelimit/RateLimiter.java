@@ -0,0 +1,47 @@
+package com.vfms.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * One {@link TokenBucket} per key. A bucket idle for a full refill period is back
+ * at capacity, so it is dropped then without changing any outcome.
+ */
+public class RateLimiter {
+
+    private final int capacity;
+    private final long nanosPerToken;
+    private final Cache<String, TokenBucket> buckets;
+
+    /**
+     * @param capacity     Requests allowed in a burst.
+     * @param refillPeriod Time for an empty bucket to refill completely.
+     * @param maxKeys      Upper bound on tracked keys.
+     */
+    public RateLimiter(int capacity, Duration refillPeriod, long maxKeys) {
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(refillPeriod)
+                .build();
+    }
+
+    /**
+     * @return 0 if the request is allowed, otherwise nanoseconds until it would be.
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        return buckets.get(key, k -> new TokenBucket(capacity, nanosPerToken, now)).tryAcquire(now);
+    }
+
+    /**
+     * @return 0 if a request would be allowed, otherwise nanoseconds until it would be. Takes nothing.
+     */
+    public long waitTime(String key) {
+        TokenBucket bucket = buckets.getIfPresent(key);
+        return bucket != null ? bucket.waitTime(System.nanoTime()) : 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.vfms.common.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Rather than a token count plus a refill timestamp, it
+ * keeps a single "theoretical arrival time" (the GCRA formulation), so taking a
+ * token is one compare-and-set on one long.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param capacity     Tokens available to a new bucket, and the most it can accumulate.
+     * @param nanosPerToken Time to refill one token.
+     * @param now          Current {@link System#nanoTime()}.
+     */
+    public TokenBucket(int capacity, long nanosPerToken, long now) {
+        this.nanosPerToken = nanosPerToken;
+        this.burstNanos = capacity * nanosPerToken;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param now Current {@link System#nanoTime()}.
+     * @return 0 if a token was taken, otherwise nanoseconds until the next one is available.
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Reports what {@link #tryAcquire(long)} would return, without taking a token.
+     *
+     * @param now Current {@link System#nanoTime()}.
+     */
+    public long waitTime(long now) {
+        long next = Math.max(theoreticalArrival.get(), now) + nanosPerToken;
+        return Math.max(0, next - now - burstNanos);
+    }
+}
@@ -0,0 +1,54 @@
+package com.vfms.common.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers GETs carrying a matching If-None-Match with 304 before the response body
+ * is built, and tags full responses with their ETag.
+ */
+public final class ConditionalResponses {
+
+    /**
+     * Lets browsers keep the response but makes them revalidate it on every use.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    public static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String etag, Supplier<ResponseEntity<T>> response) {
+        if (matches(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        ResponseEntity<T> full = response.get();
+        return ResponseEntity.status(full.getStatusCode())
+                .headers(full.getHeaders())
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(full.getBody());
+    }
+
+    private static boolean matches(String[] headers, String etag) {
+        if (headers == null) {
+            return false;
+        }
+        for (String header : headers) {
+            for (String candidate : header.split(",")) {
+                candidate = candidate.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals(etag) || candidate.equals("*")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
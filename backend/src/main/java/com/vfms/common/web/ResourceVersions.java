@@ -0,0 +1,111 @@
+package com.vfms.common.web;
+
+import com.vfms.common.jdbc.AfterCommit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change stamps for the vehicle, user, trip and fuel collections and their
+ * rows, used to answer conditional GETs with 304 without reading or serialising anything.
+ * <p>
+ * Services report writes with {@link #changed}; the stamp moves once the transaction
+ * commits, so a response can never be tagged newer than the data it was built from.
+ * All stamps come from one clock, so a response built from several collections is
+ * tagged with the newest of their stamps. Tags carry a random epoch that is rotated
+ * on startup and periodically, which bounds how long a write made by another instance
+ * can go unnoticed here.
+ */
+@Component
+public class ResourceVersions {
+
+    public static final String VEHICLES = "vehicles";
+    public static final String USERS = "users";
+    public static final String TRIPS = "trips";
+    public static final String FUEL = "fuel";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<String, Stamps> collections = new ConcurrentHashMap<>();
+    private volatile String epoch = newEpoch();
+
+    /**
+     * Records a change to one row, and so to its collection.
+     */
+    public void changed(String collection, Integer id) {
+        AfterCommit.run(() -> {
+            long stamp = clock.incrementAndGet();
+            Stamps stamps = stamps(collection);
+            if (id != null) {
+                stamps.rows.put(id, stamp);
+            }
+            stamps.collection = stamp;
+        });
+    }
+
+    /**
+     * Records a change to any number of rows of a collection, e.g. after a bulk import.
+     */
+    public void changed(String collection) {
+        AfterCommit.run(() -> {
+            long stamp = clock.incrementAndGet();
+            Stamps stamps = stamps(collection);
+            stamps.floor = stamp;
+            stamps.collection = stamp;
+        });
+    }
+
+    /**
+     * ETag for a response built from the given collections.
+     */
+    public String collectionTag(String... collections) {
+        return tag(newest(0, collections));
+    }
+
+    /**
+     * ETag for one row, which also changes with any of the collections it embeds.
+     */
+    public String rowTag(String collection, Integer id, String... embedded) {
+        Stamps stamps = stamps(collection);
+        long stamp = Math.max(stamps.floor, stamps.rows.getOrDefault(id, 0L));
+        return tag(newest(stamp, embedded));
+    }
+
+    /**
+     * Invalidates every tag handed out so far and forgets the row stamps.
+     */
+    @Scheduled(fixedDelayString = "${application.web.etag-epoch-ms:300000}",
+            initialDelayString = "${application.web.etag-epoch-ms:300000}")
+    public void rotate() {
+        epoch = newEpoch();
+        collections.values().forEach(stamps -> stamps.rows.clear());
+    }
+
+    private long newest(long stamp, String... names) {
+        for (String name : names) {
+            stamp = Math.max(stamp, stamps(name).collection);
+        }
+        return stamp;
+    }
+
+    private String tag(long stamp) {
+        return "\"" + epoch + "-" + Long.toString(stamp, 36) + "\"";
+    }
+
+    private Stamps stamps(String collection) {
+        return collections.computeIfAbsent(collection, name -> new Stamps());
+    }
+
+    private static String newEpoch() {
+        return Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    }
+
+    private static final class Stamps {
+        final Map<Integer, Long> rows = new ConcurrentHashMap<>();
+        volatile long collection;
+        volatile long floor;
+    }
+}
@@ -4,11 +4,13 @@ import com.vfms.auth.model.Role;
 import com.vfms.auth.model.User;
 import com.vfms.auth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class DataInitializer {
@@ -31,7 +33,7 @@ public class DataInitializer {
                         .emailVerified(true)
                         .build();
                 repository.save(admin);
-                System.out.println("Default Admin created: " + adminEmail);
+                log.info("Default admin created: {}", adminEmail);
             }
         };
     }
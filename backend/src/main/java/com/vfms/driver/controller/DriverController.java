@@ -1,11 +1,22 @@
 package com.vfms.driver.controller;
 
 import com.vfms.auth.model.User;
+import com.vfms.common.web.ConditionalResponses;
+import com.vfms.common.web.PageResponses;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.driver.dto.DriverImportResult;
+import com.vfms.driver.dto.DriverSummary;
+import com.vfms.driver.service.DriverImportService;
 import com.vfms.driver.service.DriverService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -13,26 +24,54 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DriverController {
     private final DriverService service;
+    private final DriverImportService importService;
+    private final ResourceVersions versions;
 
     /**
-     * Retrieves all drivers.
+     * Retrieves drivers a page at a time. The total match count is returned in the X-Total-Count header.
+     * Answers 304 if the If-None-Match ETag is still current.
      * 
-     * @return List of all drivers.
+     * @param search Optional name or license number fragment.
+     * @param status Optional driver status.
+     * @param page   The zero-based page number.
+     * @param size   The page size.
+     * @return One page of drivers, ordered by name.
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllDrivers() {
-        return ResponseEntity.ok(service.getAllDrivers());
+    public ResponseEntity<List<DriverSummary>> getAllDrivers(@RequestParam(required = false) String search,
+                                                             @RequestParam(required = false) String status,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "" + DriverService.DEFAULT_PAGE_SIZE) int size,
+                                                             WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, versions.collectionTag(ResourceVersions.USERS),
+                () -> PageResponses.of(service.getDrivers(search, status, page, size)));
     }
 
     /**
-     * Retrieves a driver by ID.
+     * Drivers who can be assigned for a time window: not on leave and without an
+     * assigned or started trip that overlaps it.
+     *
+     * @param from Window start, ISO date-time.
+     * @param to   Window end, ISO date-time, exclusive.
+     * @return The free drivers, ordered by name.
+     */
+    @GetMapping("/available")
+    public ResponseEntity<List<DriverSummary>> getAvailableDrivers(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(service.getAvailableDrivers(from, to));
+    }
+
+    /**
+     * Retrieves a driver by ID. Answers 304 if the If-None-Match ETag is still current.
      * 
      * @param id The driver ID.
      * @return The driver details.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getDriver(@PathVariable Integer id) {
-        return ResponseEntity.ok(service.getDriverById(id));
+    public ResponseEntity<User> getDriver(@PathVariable Integer id, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, versions.rowTag(ResourceVersions.USERS, id),
+                () -> ResponseEntity.ok(service.getDriverById(id)));
     }
 
     /**
@@ -46,6 +85,25 @@ public class DriverController {
         return ResponseEntity.ok(service.createDriver(driver));
     }
 
+    /**
+     * Creates many drivers at once from a JSON array.
+     *
+     * @param body Array of {name, email, phone, licenseNumber, status, joinedDate, password}.
+     * @return One result per row; valid rows are saved even if others fail.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DriverImportResult> createDriversJson(InputStream body) {
+        return ResponseEntity.ok(importService.importJson(body));
+    }
+
+    /**
+     * Creates many drivers at once from CSV with a header line naming the same columns as the JSON body.
+     */
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<DriverImportResult> createDriversCsv(InputStream body) {
+        return ResponseEntity.ok(importService.importCsv(body));
+    }
+
     /**
      * Updates an existing driver.
      * 
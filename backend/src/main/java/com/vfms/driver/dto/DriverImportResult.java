@@ -0,0 +1,42 @@
+package com.vfms.driver.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of a bulk driver create, with one entry per input row. Rows are numbered
+ * from 1 in input order, not counting a CSV header.
+ */
+@Data
+public class DriverImportResult {
+
+    private int received;
+    private int created;
+    private int failed;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public void addCreated(int row, Integer id, String email) {
+        created++;
+        rows.add(new RowResult(row, id, email, null));
+    }
+
+    public void addError(int row, String email, String error) {
+        failed++;
+        rows.add(new RowResult(row, null, email, error));
+    }
+
+    // Parse errors are found before validation errors of earlier rows in the same batch
+    public void sortRows() {
+        rows.sort(Comparator.comparingInt(RowResult::row));
+    }
+
+    /**
+     * @param id    The new driver's id, or null if the row failed.
+     * @param error Why the row was rejected, or null if it was created.
+     */
+    public record RowResult(int row, Integer id, String email, String error) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.vfms.driver.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One driver in a bulk onboarding request, as read from a JSON array or a CSV line
+ * with the header {@code name,email,phone,licenseNumber,status,joinedDate,password}.
+ * A missing password gets the same default as a single create.
+ */
+public record DriverImportRow(
+        String name,
+        String email,
+        String phone,
+        String licenseNumber,
+        String status,
+        LocalDate joinedDate,
+        String password
+) {
+}
@@ -0,0 +1,18 @@
+package com.vfms.driver.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Driver list row. Leaves out the password hash and the reset/verification tokens.
+ */
+public record DriverSummary(
+        Integer id,
+        String name,
+        String email,
+        String phone,
+        String licenseNumber,
+        String status,
+        LocalDate joinedDate,
+        String avatarUrl
+) {
+}
@@ -0,0 +1,230 @@
+package com.vfms.driver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vfms.auth.model.Role;
+import com.vfms.auth.model.User;
+import com.vfms.auth.repository.UserRepository;
+import com.vfms.auth.security.BoundedPasswordEncoder;
+import com.vfms.common.csv.CsvRecord;
+import com.vfms.common.imports.BulkImporter;
+import com.vfms.common.imports.BulkImporter.NumberedRow;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.driver.dto.DriverImportResult;
+import com.vfms.driver.dto.DriverImportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Bulk driver onboarding. Rows are validated a batch at a time with one uniqueness
+ * query per batch, passwords are hashed in parallel on the shared hashing pool, and
+ * each batch is inserted in its own transaction. Invalid rows are reported and
+ * skipped rather than failing the whole request.
+ */
+@Service
+public class DriverImportService {
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("name", "email", "phone", "licensenumber", "status", "joineddate", "password");
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "email");
+
+    private final UserRepository userRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceVersions versions;
+    private final BulkImporter importer;
+
+    public DriverImportService(
+            UserRepository userRepository,
+            BoundedPasswordEncoder passwordEncoder,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            ResourceVersions versions,
+            @Value("${application.drivers.import.batch-size:500}") int batchSize,
+            @Value("${application.drivers.import.max-rows:5000}") int maxRows
+    ) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.versions = versions;
+        this.importer = new BulkImporter("Driver", objectMapper, batchSize, maxRows);
+    }
+
+    /**
+     * Creates drivers from a JSON array of {@link DriverImportRow}.
+     */
+    public DriverImportResult importJson(InputStream body) {
+        Import run = new Import();
+        importer.importJson(body, DriverImportRow.class, run);
+        run.result.sortRows();
+        return run.result;
+    }
+
+    /**
+     * Creates drivers from CSV with a header line naming the {@link DriverImportRow} fields, in any order.
+     */
+    public DriverImportResult importCsv(InputStream body) {
+        Import run = new Import();
+        importer.importCsv(body, CSV_COLUMNS, REQUIRED_CSV_COLUMNS, DriverImportService::parseCsvRow, run);
+        run.result.sortRows();
+        return run.result;
+    }
+
+    private static DriverImportRow parseCsvRow(CsvRecord record) {
+        return new DriverImportRow(
+                record.get("name"),
+                record.get("email"),
+                record.get("phone"),
+                record.get("licenseNumber"),
+                record.get("status"),
+                record.get("joinedDate", LocalDate::parse),
+                record.get("password"));
+    }
+
+    private String validate(DriverImportRow row, Set<String> takenEmails, Set<String> takenLicenses, Import run) {
+        if (row == null) {
+            return "Empty row";
+        }
+        if (row.name() == null || row.name().isBlank()) {
+            return "name is required";
+        }
+        String email = normalizeEmail(row.email());
+        if (email == null) {
+            return "email is required";
+        }
+        if (email.indexOf('@') < 1 || email.indexOf('@') != email.lastIndexOf('@')) {
+            return "Invalid email " + row.email();
+        }
+        if (takenEmails.contains(email)) {
+            return "Email " + email + " is already registered";
+        }
+        String license = row.licenseNumber() != null ? row.licenseNumber().trim() : null;
+        if (license != null && takenLicenses.contains(license)) {
+            return "License number " + license + " is already registered";
+        }
+        if (run.emails.contains(email)) {
+            return "Email " + email + " appears more than once";
+        }
+        if (license != null && run.licenseNumbers.contains(license)) {
+            return "License number " + license + " appears more than once";
+        }
+        run.emails.add(email);
+        if (license != null) {
+            run.licenseNumbers.add(license);
+        }
+        return null;
+    }
+
+    private User toDriver(DriverImportRow row, String passwordHash) {
+        return User.builder()
+                .name(row.name().trim())
+                .email(normalizeEmail(row.email()))
+                .phone(row.phone())
+                .licenseNumber(row.licenseNumber() != null ? row.licenseNumber().trim() : null)
+                .status(row.status())
+                .joinedDate(row.joinedDate())
+                .password(passwordHash)
+                .role(Role.DRIVER)
+                .build();
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record HashedRow(DriverImportRow row, String passwordHash) {
+    }
+
+    /**
+     * State of one import: its result, and emails and license numbers already
+     * accepted from earlier rows, so duplicates within the input are caught too.
+     */
+    private final class Import implements BulkImporter.Handler<DriverImportRow, HashedRow> {
+
+        final DriverImportResult result = new DriverImportResult();
+        final Set<String> emails = new HashSet<>();
+        final Set<String> licenseNumbers = new HashSet<>();
+
+        @Override
+        public void received(int rows) {
+            result.setReceived(rows);
+        }
+
+        @Override
+        public void rejected(int row, String message) {
+            result.addError(row, null, message);
+        }
+
+        @Override
+        public List<NumberedRow<HashedRow>> prepare(List<NumberedRow<DriverImportRow>> batch) {
+            // One uniqueness lookup per batch instead of one per row
+            Set<String> batchEmails = new HashSet<>();
+            Set<String> batchLicenses = new HashSet<>();
+            for (NumberedRow<DriverImportRow> numbered : batch) {
+                if (numbered.row() != null) {
+                    if (normalizeEmail(numbered.row().email()) != null) {
+                        batchEmails.add(normalizeEmail(numbered.row().email()));
+                    }
+                    if (numbered.row().licenseNumber() != null) {
+                        batchLicenses.add(numbered.row().licenseNumber().trim());
+                    }
+                }
+            }
+            Set<String> takenEmails = batchEmails.isEmpty() ? Set.of() : userRepository.findExistingEmails(batchEmails);
+            Set<String> takenLicenses = batchLicenses.isEmpty() ? Set.of() : userRepository.findExistingLicenseNumbers(batchLicenses);
+
+            List<NumberedRow<DriverImportRow>> valid = new ArrayList<>(batch.size());
+            for (NumberedRow<DriverImportRow> numbered : batch) {
+                String error = validate(numbered.row(), takenEmails, takenLicenses, this);
+                if (error != null) {
+                    result.addError(numbered.number(), numbered.row() != null ? numbered.row().email() : null, error);
+                } else {
+                    valid.add(numbered);
+                }
+            }
+            if (valid.isEmpty()) {
+                return List.of();
+            }
+
+            List<String> rawPasswords = new ArrayList<>(valid.size());
+            for (NumberedRow<DriverImportRow> numbered : valid) {
+                String password = numbered.row().password();
+                rawPasswords.add(password != null ? password : DriverService.DEFAULT_PASSWORD);
+            }
+            List<String> hashes = passwordEncoder.encodeAll(rawPasswords);
+            List<NumberedRow<HashedRow>> hashed = new ArrayList<>(valid.size());
+            for (int i = 0; i < valid.size(); i++) {
+                hashed.add(new NumberedRow<>(valid.get(i).number(), new HashedRow(valid.get(i).row(), hashes.get(i))));
+            }
+            return hashed;
+        }
+
+        @Override
+        public void save(List<NumberedRow<HashedRow>> rows) {
+            // Built afresh on every attempt, a failed batch leaves ids on the entities it tried to save
+            List<User> drivers = new ArrayList<>(rows.size());
+            for (NumberedRow<HashedRow> numbered : rows) {
+                drivers.add(toDriver(numbered.row().row(), numbered.row().passwordHash()));
+            }
+            // Flushed at commit as JDBC batches; ids come from the pooled sequence
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(drivers));
+            versions.changed(ResourceVersions.USERS);
+            for (int i = 0; i < rows.size(); i++) {
+                result.addCreated(rows.get(i).number(), drivers.get(i).getId(), drivers.get(i).getEmail());
+            }
+        }
+
+        @Override
+        public void saveFailed(NumberedRow<HashedRow> row, String message) {
+            result.addError(row.number(), normalizeEmail(row.row().row().email()), message);
+        }
+    }
+}
@@ -3,23 +3,62 @@ package com.vfms.driver.service;
 import com.vfms.auth.model.Role;
 import com.vfms.auth.model.User;
 import com.vfms.auth.repository.UserRepository;
+import com.vfms.auth.security.PrincipalCache;
+import com.vfms.auth.security.TokenVersionRegistry;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.driver.dto.DriverSummary;
+import com.vfms.trip.service.TripSchedule;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class DriverService {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final String DEFAULT_PASSWORD = "driver123";
+
     private final UserRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final TripSchedule tripSchedule;
+    private final ResourceVersions versions;
 
-    public List<User> getAllDrivers() {
-        return repository.findAll().stream()
-                .filter(user -> user.getRole() == Role.DRIVER)
-                .collect(Collectors.toList());
+    /**
+     * Lists drivers a page at a time, optionally filtered by a name/license search term and status.
+     */
+    public Page<DriverSummary> getDrivers(String search, String status, int page, int size) {
+        String pattern = search == null || search.isBlank()
+                ? null
+                : "%" + search.trim().toLowerCase().replaceAll("[\\\\%_]", "\\\\$0") + "%";
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)),
+                Sort.by("name").and(Sort.by("id")));
+        return repository.findDriverSummaries(pattern, status == null || status.isBlank() ? null : status, pageRequest);
+    }
+
+    /**
+     * Drivers not on leave and without an assigned or started trip during {@code [from, to)}.
+     */
+    public List<DriverSummary> getAvailableDrivers(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must be after 'from'");
+        }
+        List<DriverSummary> candidates = repository.findDispatchableDrivers();
+        Set<Integer> free = new HashSet<>(tripSchedule.freeDrivers(
+                candidates.stream().map(DriverSummary::id).toList(), from, to));
+        return candidates.stream().filter(driver -> free.contains(driver.id())).toList();
     }
 
     public User getDriverById(Integer id) {
@@ -31,15 +70,20 @@ public class DriverService {
     public User createDriver(User driver) {
         driver.setRole(Role.DRIVER);
         if (driver.getPassword() == null || driver.getPassword().isEmpty()) {
-            driver.setPassword(passwordEncoder.encode("driver123")); // Default password
+            driver.setPassword(passwordEncoder.encode(DEFAULT_PASSWORD));
         } else {
             driver.setPassword(passwordEncoder.encode(driver.getPassword()));
         }
-        return repository.save(driver);
+        User saved = repository.save(driver);
+        versions.changed(ResourceVersions.USERS, saved.getId());
+        return saved;
     }
 
     public User updateDriver(Integer id, User driverDetails) {
         User driver = getDriverById(id);
+        if (driverDetails.getEmail() != null && !driverDetails.getEmail().equals(driver.getEmail())) {
+            driver.revokeTokens();
+        }
         driver.setName(driverDetails.getName());
         driver.setEmail(driverDetails.getEmail());
         driver.setPhone(driverDetails.getPhone());
@@ -47,10 +91,17 @@ public class DriverService {
         driver.setStatus(driverDetails.getStatus());
         driver.setJoinedDate(driverDetails.getJoinedDate());
         driver.setAvatarUrl(driverDetails.getAvatarUrl());
-        return repository.save(driver);
+        User saved = repository.save(driver);
+        principalCache.evict(id);
+        tokenVersions.update(id, saved.getTokenVersion());
+        versions.changed(ResourceVersions.USERS, id);
+        return saved;
     }
 
     public void deleteDriver(Integer id) {
         repository.deleteById(id);
+        principalCache.evict(id);
+        tokenVersions.remove(id);
+        versions.changed(ResourceVersions.USERS, id);
     }
 }
@@ -1,11 +1,25 @@
 package com.vfms.fuel.controller;
 
+import com.vfms.common.export.ExportFormat;
+import com.vfms.common.export.StreamingExporter;
+import com.vfms.common.web.ConditionalResponses;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.fuel.dto.FuelImportResult;
+import com.vfms.fuel.dto.FuelRecordSummary;
+import com.vfms.fuel.dto.FuelRollup;
 import com.vfms.fuel.model.FuelRecord;
+import com.vfms.fuel.service.FuelImportService;
 import com.vfms.fuel.service.FuelService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -13,10 +27,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FuelController {
     private final FuelService service;
+    private final FuelImportService importService;
+    private final ResourceVersions versions;
 
+    /**
+     * The whole fuel log. Answers 304 if the If-None-Match ETag is still current.
+     */
     @GetMapping
-    public ResponseEntity<List<FuelRecord>> getAllFuelRecords() {
-        return ResponseEntity.ok(service.getAllFuelRecords());
+    public ResponseEntity<List<FuelRecordSummary>> getAllFuelRecords(WebRequest request) {
+        String etag = versions.collectionTag(ResourceVersions.FUEL, ResourceVersions.USERS, ResourceVersions.VEHICLES);
+        return ConditionalResponses.ifNoneMatch(request, etag, () -> ResponseEntity.ok(service.getAllFuelRecords()));
     }
 
     @PostMapping
@@ -24,8 +44,75 @@ public class FuelController {
         return ResponseEntity.ok(service.addFuelRecord(record));
     }
     
+    /**
+     * Bulk import from a JSON array of rows. The body is streamed and saved in batches.
+     * 
+     * @param body Array of {vehicleId, driverId, quantity, cost, mileage, date}.
+     * @return Counts and per-row errors; valid rows are saved even if others fail.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<FuelImportResult> importJson(InputStream body) {
+        return ResponseEntity.ok(importService.importJson(body));
+    }
+
+    /**
+     * Bulk import from CSV with a header line naming the same columns as the JSON import.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<FuelImportResult> importCsv(InputStream body) {
+        return ResponseEntity.ok(importService.importCsv(body));
+    }
+    
     @GetMapping("/vehicle/{vehicleId}")
-    public ResponseEntity<List<FuelRecord>> getByVehicle(@PathVariable Integer vehicleId) {
+    public ResponseEntity<List<FuelRecordSummary>> getByVehicle(@PathVariable Integer vehicleId) {
         return ResponseEntity.ok(service.getFuelRecordsByVehicle(vehicleId));
     }
+
+    /**
+     * Streams the fuel log, oldest first, as a CSV or NDJSON download.
+     * 
+     * @param vehicleId Optional vehicle to restrict to.
+     * @param from      Optional first day (inclusive).
+     * @param to        Optional end day (exclusive).
+     * @param format    csv (default) or ndjson.
+     * @return The export, written while the rows are read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFuelRecords(
+            @RequestParam(required = false) Integer vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") ExportFormat format) {
+        return StreamingExporter.response("fuel-records", format,
+                out -> service.exportFuelRecords(vehicleId, from, to, format, out));
+    }
+
+    /**
+     * Per-vehicle litres, cost, cost per km and km per litre over a date range.
+     * 
+     * @param from      Optional first day (inclusive), defaults to a year before {@code to}.
+     * @param to        Optional end day (exclusive), defaults to tomorrow.
+     * @param vehicleId Optional vehicle to restrict to.
+     * @return One rollup per vehicle.
+     */
+    @GetMapping("/analytics/vehicles")
+    public ResponseEntity<List<FuelRollup>> getVehicleAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer vehicleId) {
+        return ResponseEntity.ok(service.getVehicleRollups(from, to, vehicleId));
+    }
+
+    /**
+     * Same as the per-vehicle analytics, broken down by month.
+     * 
+     * @return One rollup per vehicle and month.
+     */
+    @GetMapping("/analytics/monthly")
+    public ResponseEntity<List<FuelRollup>> getMonthlyAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer vehicleId) {
+        return ResponseEntity.ok(service.getMonthlyRollups(from, to, vehicleId));
+    }
 }
@@ -0,0 +1,37 @@
+package com.vfms.fuel.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rows are numbered from 1 in input order, not counting a CSV header.
+ */
+@Data
+public class FuelImportResult {
+
+    // Keeps the response bounded when a whole file is wrong
+    public static final int MAX_ERRORS = 1000;
+
+    private int received;
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(int row, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    // Parse errors are found before validation errors of earlier rows in the same batch
+    public void sortErrors() {
+        errors.sort(Comparator.comparingInt(RowError::row));
+    }
+
+    public record RowError(int row, String message) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.vfms.fuel.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One fill-up in a bulk import, as read from a JSON array or a CSV line with the
+ * header {@code vehicleId,driverId,quantity,cost,mileage,date}.
+ */
+public record FuelImportRow(
+        Integer vehicleId,
+        Integer driverId,
+        Double quantity,
+        Double cost,
+        Double mileage,
+        LocalDate date
+) {
+}
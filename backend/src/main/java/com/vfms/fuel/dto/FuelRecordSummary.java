@@ -0,0 +1,32 @@
+package com.vfms.fuel.dto;
+
+import com.vfms.auth.dto.UserRef;
+import com.vfms.auth.model.Role;
+import com.vfms.vehicle.dto.VehicleRef;
+
+import java.time.LocalDate;
+
+/**
+ * Fuel log list row without the full vehicle and driver entities.
+ */
+public record FuelRecordSummary(
+        Integer id,
+        LocalDate date,
+        Double quantity,
+        Double cost,
+        Double mileage,
+        VehicleRef vehicle,
+        UserRef driver
+) {
+
+    /**
+     * Flat constructor for JPQL constructor expressions.
+     */
+    public FuelRecordSummary(Integer id, LocalDate date, Double quantity, Double cost, Double mileage,
+                             Integer vehicleId, String vehicleMake, String vehicleModel, String vehicleLicensePlate,
+                             Double vehicleOdometer, Integer driverId, String driverName, Role driverRole) {
+        this(id, date, quantity, cost, mileage,
+                VehicleRef.of(vehicleId, vehicleMake, vehicleModel, vehicleLicensePlate, vehicleOdometer),
+                UserRef.of(driverId, driverName, driverRole));
+    }
+}
@@ -0,0 +1,35 @@
+package com.vfms.fuel.dto;
+
+/**
+ * Fuel consumption and cost for one vehicle, either over the whole requested
+ * range or for a single month of it. Distance comes from the difference between
+ * consecutive odometer readings, so the efficiency figures only count fill-ups
+ * that have an earlier reading to measure from.
+ */
+public record FuelRollup(
+        Integer vehicleId,
+        String licensePlate,
+        String month,
+        long fills,
+        double litres,
+        double cost,
+        double distanceKm,
+        Double costPerKm,
+        Double kmPerLitre
+) {
+
+    public static FuelRollup from(FuelRollupRow row) {
+        double distance = row.getDistance() != null ? row.getDistance() : 0;
+        boolean measured = distance > 0 && row.getLitresOverDistance() != null && row.getLitresOverDistance() > 0;
+        return new FuelRollup(
+                row.getVehicleId(),
+                row.getLicensePlate(),
+                row.getMonth(),
+                row.getFills() != null ? row.getFills() : 0,
+                row.getLitres() != null ? row.getLitres() : 0,
+                row.getCost() != null ? row.getCost() : 0,
+                distance,
+                measured ? row.getCostOverDistance() / distance : null,
+                measured ? distance / row.getLitresOverDistance() : null);
+    }
+}
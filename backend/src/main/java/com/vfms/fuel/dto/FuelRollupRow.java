@@ -0,0 +1,27 @@
+package com.vfms.fuel.dto;
+
+/**
+ * Raw row of the fuel rollup queries.
+ */
+public interface FuelRollupRow {
+
+    Integer getVehicleId();
+
+    String getLicensePlate();
+
+    // Null for whole-range rollups
+    String getMonth();
+
+    Long getFills();
+
+    Double getLitres();
+
+    Double getCost();
+
+    Double getDistance();
+
+    // Litres and cost of the fill-ups that have a previous reading to measure distance from
+    Double getLitresOverDistance();
+
+    Double getCostOverDistance();
+}
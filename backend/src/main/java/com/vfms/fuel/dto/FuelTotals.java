@@ -0,0 +1,11 @@
+package com.vfms.fuel.dto;
+
+/**
+ * Summed cost and litres over a date range.
+ */
+public interface FuelTotals {
+
+    Double getCost();
+
+    Double getLitres();
+}
@@ -1,12 +1,15 @@
 package com.vfms.fuel.model;
 
 import com.vfms.auth.model.User;
+import com.vfms.common.jdbc.IdSequences;
 import com.vfms.vehicle.model.Vehicle;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.time.LocalDate;
 
@@ -15,17 +18,22 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "fuel_record")
+@Table(name = "fuel_record", indexes = @Index(name = "idx_fuel_vehicle_date", columnList = "vehicle_id, date"))
 public class FuelRecord {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence rather than identity so bulk imports can batch their inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fuel_record_seq")
+    @SequenceGenerator(name = "fuel_record_seq", sequenceName = "fuel_record_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
     private Integer id;
 
+    // Loaded by id rather than joined, so they come from the second-level cache
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     @JoinColumn(name = "vehicle_id")
     private Vehicle vehicle;
 
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     @JoinColumn(name = "driver_id")
     private User driver;
 
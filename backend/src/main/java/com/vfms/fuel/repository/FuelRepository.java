@@ -1,12 +1,85 @@
 package com.vfms.fuel.repository;
 
+import com.vfms.fuel.dto.FuelRecordSummary;
+import com.vfms.fuel.dto.FuelRollupRow;
+import com.vfms.fuel.dto.FuelTotals;
+import com.vfms.common.export.StreamingExporter;
 import com.vfms.fuel.model.FuelRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface FuelRepository extends JpaRepository<FuelRecord, Integer> {
     List<FuelRecord> findByVehicleId(Integer vehicleId);
+
+    String SUMMARY_SELECT = "select new com.vfms.fuel.dto.FuelRecordSummary("
+            + "f.id, f.date, f.quantity, f.cost, f.mileage, "
+            + "v.id, v.make, v.model, v.licensePlate, v.currentOdometer, d.id, d.name, d.role) "
+            + "from FuelRecord f left join f.vehicle v left join f.driver d ";
+
+    @Query(SUMMARY_SELECT + "order by f.date desc, f.id desc")
+    List<FuelRecordSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "where v.id = :vehicleId order by f.date desc, f.id desc")
+    List<FuelRecordSummary> findSummariesByVehicleId(Integer vehicleId);
+
+    /**
+     * Forward-only cursor over the fuel log, oldest first. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = StreamingExporter.FETCH_SIZE_HINT),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUMMARY_SELECT + "where (:vehicleId is null or v.id = :vehicleId) "
+            + "and (:from is null or f.date >= :from) and (:to is null or f.date < :to) "
+            + "order by f.date, f.id")
+    Stream<FuelRecordSummary> streamSummaries(Integer vehicleId, LocalDate from, LocalDate to);
+
+    @Query("select coalesce(sum(f.cost), 0) as cost, coalesce(sum(f.quantity), 0) as litres "
+            + "from FuelRecord f where f.date >= :from and f.date < :to")
+    FuelTotals sumBetween(LocalDate from, LocalDate to);
+
+    /*
+     * Distance per fill-up is the odometer delta from the vehicle's previous fill-up.
+     * The window runs over all history before :to so the first fill-up in range still
+     * gets its delta; negative deltas (bad readings) are ignored.
+     */
+    String ROLLUP_FILLS = "with fills as ("
+            + " select f.vehicle_id, f.date, f.quantity, f.cost,"
+            + " case when f.mileage - lag(f.mileage) over w >= 0"
+            + " then f.mileage - lag(f.mileage) over w end as distance"
+            + " from fuel_record f"
+            + " where f.vehicle_id is not null and f.date < :to"
+            + " and (cast(:vehicleId as integer) is null or f.vehicle_id = :vehicleId)"
+            + " window w as (partition by f.vehicle_id order by f.date, f.id)) ";
+
+    String ROLLUP_COLUMNS = " count(*) as \"fills\","
+            + " sum(fills.quantity) as \"litres\","
+            + " sum(fills.cost) as \"cost\","
+            + " sum(fills.distance) as \"distance\","
+            + " sum(case when fills.distance is not null then fills.quantity end) as \"litresOverDistance\","
+            + " sum(case when fills.distance is not null then fills.cost end) as \"costOverDistance\""
+            + " from fills join vehicle v on v.id = fills.vehicle_id"
+            + " where fills.date >= :from ";
+
+    @Query(nativeQuery = true, value = ROLLUP_FILLS
+            + "select fills.vehicle_id as \"vehicleId\", v.license_plate as \"licensePlate\","
+            + " cast(null as varchar) as \"month\"," + ROLLUP_COLUMNS
+            + "group by fills.vehicle_id, v.license_plate order by fills.vehicle_id")
+    List<FuelRollupRow> rollupByVehicle(LocalDate from, LocalDate to, Integer vehicleId);
+
+    @Query(nativeQuery = true, value = ROLLUP_FILLS
+            + "select fills.vehicle_id as \"vehicleId\", v.license_plate as \"licensePlate\","
+            + " to_char(fills.date, 'YYYY-MM') as \"month\"," + ROLLUP_COLUMNS
+            + "group by fills.vehicle_id, v.license_plate, to_char(fills.date, 'YYYY-MM')"
+            + " order by fills.vehicle_id, \"month\"")
+    List<FuelRollupRow> rollupByVehicleAndMonth(LocalDate from, LocalDate to, Integer vehicleId);
 }
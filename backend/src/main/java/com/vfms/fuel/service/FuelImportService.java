@@ -0,0 +1,198 @@
+package com.vfms.fuel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vfms.auth.repository.UserRepository;
+import com.vfms.common.csv.CsvRecord;
+import com.vfms.common.imports.BulkImporter;
+import com.vfms.common.imports.BulkImporter.NumberedRow;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.fuel.dto.FuelImportResult;
+import com.vfms.fuel.dto.FuelImportRow;
+import com.vfms.fuel.model.FuelRecord;
+import com.vfms.fuel.repository.FuelRepository;
+import com.vfms.report.service.FleetMetrics;
+import com.vfms.vehicle.repository.VehicleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk import of fuel-card statements. Input is read as a stream and written in
+ * batches, each in its own transaction, so memory stays flat however large the
+ * file is. Invalid rows are reported and skipped rather than failing the import.
+ */
+@Service
+public class FuelImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("vehicleid", "driverid", "quantity", "cost", "mileage", "date");
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("vehicleid", "quantity", "cost", "date");
+
+    private final FuelRepository fuelRepository;
+    private final VehicleRepository vehicleRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final FleetMetrics fleetMetrics;
+    private final ResourceVersions versions;
+    private final BulkImporter importer;
+
+    public FuelImportService(
+            FuelRepository fuelRepository,
+            VehicleRepository vehicleRepository,
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            FleetMetrics fleetMetrics,
+            ResourceVersions versions,
+            @Value("${application.fuel.import.batch-size:500}") int batchSize,
+            @Value("${application.fuel.import.max-rows:100000}") int maxRows
+    ) {
+        this.fuelRepository = fuelRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.fleetMetrics = fleetMetrics;
+        this.versions = versions;
+        this.importer = new BulkImporter("Fuel", objectMapper, batchSize, maxRows);
+    }
+
+    /**
+     * Imports a JSON array of {@link FuelImportRow}.
+     */
+    public FuelImportResult importJson(InputStream body) {
+        Import run = new Import();
+        importer.importJson(body, FuelImportRow.class, run);
+        run.result.sortErrors();
+        return run.result;
+    }
+
+    /**
+     * Imports CSV with a header line naming the {@link FuelImportRow} fields, in any order.
+     */
+    public FuelImportResult importCsv(InputStream body) {
+        Import run = new Import();
+        importer.importCsv(body, CSV_COLUMNS, REQUIRED_CSV_COLUMNS, FuelImportService::parseCsvRow, run);
+        run.result.sortErrors();
+        return run.result;
+    }
+
+    private static FuelImportRow parseCsvRow(CsvRecord record) {
+        return new FuelImportRow(
+                record.get("vehicleid", Integer::valueOf),
+                record.get("driverid", Integer::valueOf),
+                record.get("quantity", Double::valueOf),
+                record.get("cost", Double::valueOf),
+                record.get("mileage", Double::valueOf),
+                record.get("date", LocalDate::parse));
+    }
+
+    private String validate(FuelImportRow row, Set<Integer> knownVehicles, Set<Integer> knownDrivers) {
+        if (row == null) {
+            return "Empty row";
+        }
+        if (row.vehicleId() == null) {
+            return "vehicleId is required";
+        }
+        if (!knownVehicles.contains(row.vehicleId())) {
+            return "Unknown vehicle " + row.vehicleId();
+        }
+        if (row.driverId() != null && !knownDrivers.contains(row.driverId())) {
+            return "Unknown driver " + row.driverId();
+        }
+        if (row.quantity() == null || row.quantity() <= 0) {
+            return "quantity must be greater than zero";
+        }
+        if (row.cost() == null || row.cost() < 0) {
+            return "cost must not be negative";
+        }
+        if (row.mileage() != null && row.mileage() < 0) {
+            return "mileage must not be negative";
+        }
+        if (row.date() == null) {
+            return "date is required";
+        }
+        if (row.date().isAfter(LocalDate.now())) {
+            return "date must not be in the future";
+        }
+        return null;
+    }
+
+    private final class Import implements BulkImporter.Handler<FuelImportRow, FuelImportRow> {
+
+        final FuelImportResult result = new FuelImportResult();
+
+        @Override
+        public void received(int rows) {
+            result.setReceived(rows);
+        }
+
+        @Override
+        public void rejected(int row, String message) {
+            result.addError(row, message);
+        }
+
+        @Override
+        public List<NumberedRow<FuelImportRow>> prepare(List<NumberedRow<FuelImportRow>> batch) {
+            // One lookup per batch for referenced ids instead of one per row
+            Set<Integer> vehicleIds = new HashSet<>();
+            Set<Integer> driverIds = new HashSet<>();
+            for (NumberedRow<FuelImportRow> numbered : batch) {
+                if (numbered.row().vehicleId() != null) {
+                    vehicleIds.add(numbered.row().vehicleId());
+                }
+                if (numbered.row().driverId() != null) {
+                    driverIds.add(numbered.row().driverId());
+                }
+            }
+            Set<Integer> knownVehicles = vehicleIds.isEmpty() ? Set.of() : vehicleRepository.findExistingIds(vehicleIds);
+            Set<Integer> knownDrivers = driverIds.isEmpty() ? Set.of() : userRepository.findExistingIds(driverIds);
+
+            List<NumberedRow<FuelImportRow>> valid = new ArrayList<>(batch.size());
+            for (NumberedRow<FuelImportRow> numbered : batch) {
+                String error = validate(numbered.row(), knownVehicles, knownDrivers);
+                if (error != null) {
+                    result.addError(numbered.number(), error);
+                } else {
+                    valid.add(numbered);
+                }
+            }
+            return valid;
+        }
+
+        @Override
+        public void save(List<NumberedRow<FuelImportRow>> rows) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<FuelRecord> records = new ArrayList<>(rows.size());
+                for (NumberedRow<FuelImportRow> numbered : rows) {
+                    FuelImportRow row = numbered.row();
+                    records.add(FuelRecord.builder()
+                            .vehicle(vehicleRepository.getReferenceById(row.vehicleId()))
+                            .driver(row.driverId() != null ? userRepository.getReferenceById(row.driverId()) : null)
+                            .quantity(row.quantity())
+                            .cost(row.cost())
+                            .mileage(row.mileage())
+                            .date(row.date())
+                            .build());
+                }
+                // Flushed at commit as JDBC batches; ids come from the pooled sequence
+                fuelRepository.saveAll(records);
+            });
+            versions.changed(ResourceVersions.FUEL);
+            result.setImported(result.getImported() + rows.size());
+            for (NumberedRow<FuelImportRow> numbered : rows) {
+                fleetMetrics.fuelRecorded(numbered.row().quantity(), numbered.row().cost());
+            }
+        }
+
+        @Override
+        public void saveFailed(NumberedRow<FuelImportRow> row, String message) {
+            result.addError(row.number(), message);
+        }
+    }
+}
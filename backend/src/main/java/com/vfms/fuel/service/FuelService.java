@@ -1,26 +1,99 @@
 package com.vfms.fuel.service;
 
+import com.vfms.common.export.ExportColumn;
+import com.vfms.common.export.ExportFormat;
+import com.vfms.common.export.StreamingExporter;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.fuel.dto.FuelRecordSummary;
+import com.vfms.fuel.dto.FuelRollup;
 import com.vfms.fuel.model.FuelRecord;
 import com.vfms.fuel.repository.FuelRepository;
+import com.vfms.report.service.FleetMetrics;
+import com.vfms.vehicle.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class FuelService {
+    private static final List<ExportColumn<FuelRecordSummary>> EXPORT_COLUMNS = List.of(
+            new ExportColumn<>("id", FuelRecordSummary::id),
+            new ExportColumn<>("date", FuelRecordSummary::date),
+            new ExportColumn<>("vehicleId", f -> f.vehicle() != null ? f.vehicle().id() : null),
+            new ExportColumn<>("licensePlate", f -> f.vehicle() != null ? f.vehicle().licensePlate() : null),
+            new ExportColumn<>("driverId", f -> f.driver() != null ? f.driver().id() : null),
+            new ExportColumn<>("driverName", f -> f.driver() != null ? f.driver().name() : null),
+            new ExportColumn<>("quantity", FuelRecordSummary::quantity),
+            new ExportColumn<>("cost", FuelRecordSummary::cost),
+            new ExportColumn<>("mileage", FuelRecordSummary::mileage));
+
     private final FuelRepository repository;
+    private final StreamingExporter exporter;
+    private final FleetMetrics fleetMetrics;
+    private final VehicleRepository vehicleRepository;
+    private final ResourceVersions versions;
 
-    public List<FuelRecord> getAllFuelRecords() {
-        return repository.findAll();
+    public List<FuelRecordSummary> getAllFuelRecords() {
+        return repository.findAllSummaries();
     }
 
     public FuelRecord addFuelRecord(FuelRecord record) {
-        return repository.save(record);
+        // Request bodies name the vehicle by id only, without the version Hibernate needs to attach it
+        if (record.getVehicle() != null && record.getVehicle().getId() != null) {
+            Integer vehicleId = record.getVehicle().getId();
+            record.setVehicle(vehicleRepository.findById(vehicleId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown vehicle " + vehicleId)));
+        }
+        FuelRecord saved = repository.save(record);
+        fleetMetrics.fuelRecorded(saved.getQuantity(), saved.getCost());
+        versions.changed(ResourceVersions.FUEL, saved.getId());
+        return saved;
     }
     
-    public List<FuelRecord> getFuelRecordsByVehicle(Integer vehicleId) {
-        return repository.findByVehicleId(vehicleId);
+    public List<FuelRecordSummary> getFuelRecordsByVehicle(Integer vehicleId) {
+        return repository.findSummariesByVehicleId(vehicleId);
+    }
+
+    /**
+     * Writes the fuel log to {@code out}, oldest first, reading it through a database cursor.
+     */
+    @Transactional(readOnly = true)
+    public void exportFuelRecords(Integer vehicleId, LocalDate from, LocalDate to,
+                                  ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<FuelRecordSummary> records = repository.streamSummaries(vehicleId, from, to)) {
+            exporter.write(records, format, EXPORT_COLUMNS, out);
+        }
+    }
+
+    /**
+     * Per-vehicle litres, cost and efficiency between {@code from} (inclusive) and {@code to} (exclusive).
+     * Defaults to the last twelve months.
+     */
+    public List<FuelRollup> getVehicleRollups(LocalDate from, LocalDate to, Integer vehicleId) {
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate start = from != null ? from : end.minusYears(1);
+        return repository.rollupByVehicle(start, end, vehicleId).stream()
+                .map(FuelRollup::from)
+                .toList();
+    }
+
+    /**
+     * Same as {@link #getVehicleRollups} but broken down by calendar month.
+     */
+    public List<FuelRollup> getMonthlyRollups(LocalDate from, LocalDate to, Integer vehicleId) {
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate start = from != null ? from : end.minusYears(1).withDayOfMonth(1);
+        return repository.rollupByVehicleAndMonth(start, end, vehicleId).stream()
+                .map(FuelRollup::from)
+                .toList();
     }
 }
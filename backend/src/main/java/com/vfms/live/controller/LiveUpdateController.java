@@ -0,0 +1,46 @@
+package com.vfms.live.controller;
+
+import com.vfms.live.service.LiveUpdates;
+import com.vfms.trip.model.TripStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+public class LiveUpdateController {
+
+    private final LiveUpdates liveUpdates;
+
+    /**
+     * Server-Sent Events stream of trip and vehicle changes. Each event is named
+     * {@code trip} or {@code vehicle} and carries the change as JSON. Idle streams get a
+     * periodic comment line as heartbeat; a client that falls too far behind is disconnected
+     * and should reconnect and reload its lists. Needs the usual bearer token, so
+     * browsers must use a fetch-based EventSource.
+     *
+     * @param types       Event types to receive: {@code trip}, {@code vehicle}, or both (default).
+     * @param driverId    Only trips of this driver.
+     * @param requesterId Only trips of this requester.
+     * @param status      Only trips entering or leaving this status.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) Integer driverId,
+            @RequestParam(required = false) Integer requesterId,
+            @RequestParam(required = false) TripStatus status) {
+        boolean all = types == null || types.isEmpty();
+        return liveUpdates.subscribe(new LiveUpdates.Filter(
+                all || types.contains(LiveUpdates.TRIP_EVENT),
+                all || types.contains(LiveUpdates.VEHICLE_EVENT),
+                driverId, requesterId, status));
+    }
+}
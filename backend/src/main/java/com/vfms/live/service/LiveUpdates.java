@@ -0,0 +1,207 @@
+package com.vfms.live.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vfms.trip.event.TripChangedEvent;
+import com.vfms.trip.model.TripStatus;
+import com.vfms.vehicle.event.VehicleChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Pushes trip and vehicle changes to dashboards over Server-Sent Events, so they
+ * can stop polling full lists.
+ * <p>
+ * Events are taken from the services' change events after their transaction commits.
+ * Each subscriber has a bounded queue drained by its own virtual thread, so publishing
+ * never waits on a client. A subscriber whose queue overflows is disconnected and
+ * expected to reconnect and reload; one stalled tab can only ever hold its own queue.
+ */
+@Slf4j
+@Service
+public class LiveUpdates {
+
+    public static final String TRIP_EVENT = "trip";
+    public static final String VEHICLE_EVENT = "vehicle";
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("ping").build();
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter dropped;
+
+    public LiveUpdates(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.live.buffer-size:256}") int bufferSize,
+            @Value("${application.live.max-subscribers:2000}") int maxSubscribers,
+            @Value("${application.live.timeout:30m}") Duration timeout,
+            @Value("${application.live.heartbeat:25s}") Duration heartbeat
+    ) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        Gauge.builder("live.subscribers", subscribers, Set::size).register(meterRegistry);
+        this.dropped = Counter.builder("live.subscribers.dropped")
+                .description("Subscribers disconnected because they fell too far behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for one client.
+     *
+     * @throws ResponseStatusException 503 if the subscriber limit is reached.
+     */
+    public SseEmitter subscribe(Filter filter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live subscribers, fall back to polling");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, filter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        // Sends the response headers right away, so the client knows it is connected
+        subscriber.offer(HEARTBEAT);
+        Thread.ofVirtual().name("live-subscriber").start(subscriber::drain);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        publish(TRIP_EVENT, event, filter -> filter.accepts(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        publish(VEHICLE_EVENT, event, Filter::acceptsVehicles);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void publish(String name, Object event, Predicate<Filter> wanted) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialise live {} event: {}", name, e.getMessage());
+            return;
+        }
+        // Serialised and framed once, whatever the number of subscribers
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(name)
+                .data(json)
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            if (wanted.test(subscriber.filter)) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    /**
+     * Which events a client wants. Trip events can be narrowed by driver, requester and
+     * status, where a status matches trips entering or leaving it; vehicle events are
+     * all-or-nothing.
+     */
+    public record Filter(boolean trips, boolean vehicles, Integer driverId, Integer requesterId, TripStatus status) {
+
+        boolean accepts(TripChangedEvent event) {
+            return trips
+                    && (driverId == null || driverId.equals(event.driverId()))
+                    && (requesterId == null || requesterId.equals(event.requesterId()))
+                    && (status == null || status == event.status() || status == event.previousStatus());
+        }
+
+        boolean acceptsVehicles() {
+            return vehicles;
+        }
+    }
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        final Filter filter;
+        final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Filter filter, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.queue = queue;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (!closed && !queue.offer(frame)) {
+                // Too far behind. Completing the emitter here could block on its in-flight
+                // send, so only detach; the drain thread finishes the response.
+                dropped.increment();
+                log.debug("Dropping live subscriber {} after {} undelivered events", filter, bufferSize);
+                close();
+            }
+        }
+
+        void drain() {
+            try {
+                while (!closed) {
+                    Set<ResponseBodyEmitter.DataWithMediaType> frame = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (!closed) {
+                        emitter.send(frame != null ? frame : HEARTBEAT);
+                    }
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+                close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+        }
+    }
+}
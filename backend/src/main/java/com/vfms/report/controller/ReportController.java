@@ -19,4 +19,9 @@ public class ReportController {
     public ResponseEntity<Map<String, Object>> getOverview() {
         return ResponseEntity.ok(service.getSystemOverview());
     }
+
+    @GetMapping("/fleet-status")
+    public ResponseEntity<Map<String, Object>> getFleetStatus() {
+        return ResponseEntity.ok(service.getFleetStatus());
+    }
 }
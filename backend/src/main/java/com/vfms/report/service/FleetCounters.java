@@ -0,0 +1,167 @@
+package com.vfms.report.service;
+
+import com.vfms.common.dto.StatusCount;
+import com.vfms.common.jdbc.AfterCommit;
+import com.vfms.trip.model.TripStatus;
+import com.vfms.trip.repository.TripRepository;
+import com.vfms.vehicle.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live trip and vehicle counts, kept current by the trip and vehicle services so
+ * reports can read them in O(1). Changes reported inside a transaction are applied
+ * when it commits. Seeded from the database at startup and
+ * periodically reconciled against it to correct any drift (failed transactions,
+ * writes from other instances, direct SQL).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FleetCounters {
+
+    public static final String VEHICLE_AVAILABLE = "AVAILABLE";
+    public static final String VEHICLE_IN_USE = "IN_USE";
+    public static final String VEHICLE_MAINTENANCE = "MAINTENANCE";
+
+    private static final String UNKNOWN_STATUS = "UNKNOWN";
+
+    private final TripRepository tripRepository;
+    private final VehicleRepository vehicleRepository;
+
+    private final Map<TripStatus, AtomicLong> trips = new EnumMap<>(TripStatus.class);
+    private final Map<String, AtomicLong> vehicles = new ConcurrentHashMap<>();
+
+    {
+        for (TripStatus status : TripStatus.values()) {
+            trips.put(status, new AtomicLong());
+        }
+    }
+
+    public void tripStatusChanged(TripStatus from, TripStatus to) {
+        if (from == to) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            if (from != null) {
+                trips.get(from).decrementAndGet();
+            }
+            if (to != null) {
+                trips.get(to).incrementAndGet();
+            }
+        });
+    }
+
+    public void vehicleStatusChanged(String from, String to) {
+        String fromKey = from != null ? from : UNKNOWN_STATUS;
+        String toKey = to != null ? to : UNKNOWN_STATUS;
+        if (fromKey.equals(toKey)) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            vehicleCounter(fromKey).decrementAndGet();
+            vehicleCounter(toKey).incrementAndGet();
+        });
+    }
+
+    public void vehicleAdded(String status) {
+        AfterCommit.run(() -> vehicleCounter(status != null ? status : UNKNOWN_STATUS).incrementAndGet());
+    }
+
+    public void vehicleRemoved(String status) {
+        AfterCommit.run(() -> vehicleCounter(status != null ? status : UNKNOWN_STATUS).decrementAndGet());
+    }
+
+    public long activeTrips() {
+        return trips.get(TripStatus.STARTED).get();
+    }
+
+    public long availableVehicles() {
+        return vehicleCount(VEHICLE_AVAILABLE);
+    }
+
+    public long vehiclesInMaintenance() {
+        return vehicleCount(VEHICLE_MAINTENANCE);
+    }
+
+    public long vehicleCount(String status) {
+        AtomicLong counter = vehicles.get(status);
+        return counter != null ? counter.get() : 0;
+    }
+
+    public Map<String, Long> tripsByStatus() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        trips.forEach((status, count) -> result.put(status.name(), count.get()));
+        return result;
+    }
+
+    public Map<String, Long> vehiclesByStatus() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        vehicles.forEach((status, count) -> {
+            if (count.get() != 0) {
+                result.put(status, count.get());
+            }
+        });
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        recount(false);
+    }
+
+    /**
+     * Recounts from the database and overwrites any counter that drifted.
+     * Updates racing with the recount can leave a small error that the next run corrects.
+     */
+    @Scheduled(fixedDelayString = "${application.reports.counter-reconcile-ms:300000}",
+            initialDelayString = "${application.reports.counter-reconcile-ms:300000}")
+    public void reconcile() {
+        recount(true);
+    }
+
+    private void recount(boolean logDrift) {
+        Map<TripStatus, Long> tripCounts = new EnumMap<>(TripStatus.class);
+        for (TripStatus status : TripStatus.values()) {
+            tripCounts.put(status, 0L);
+        }
+        for (StatusCount row : tripRepository.countByStatus()) {
+            if (row.getStatus() instanceof TripStatus status) {
+                tripCounts.put(status, row.getCount());
+            }
+        }
+        tripCounts.forEach((status, expected) -> correct("trips." + status, trips.get(status), expected, logDrift));
+
+        Map<String, Long> vehicleCounts = new HashMap<>();
+        List<StatusCount> rows = vehicleRepository.countByStatus();
+        for (StatusCount row : rows) {
+            String status = row.getStatus() != null ? row.getStatus().toString() : UNKNOWN_STATUS;
+            vehicleCounts.merge(status, row.getCount(), Long::sum);
+        }
+        vehicles.keySet().forEach(status -> vehicleCounts.putIfAbsent(status, 0L));
+        vehicleCounts.forEach((status, expected) -> correct("vehicles." + status, vehicleCounter(status), expected, logDrift));
+    }
+
+    private void correct(String name, AtomicLong counter, long expected, boolean logDrift) {
+        long actual = counter.getAndSet(expected);
+        if (logDrift && actual != expected) {
+            log.info("Fleet counter {} drifted: {} -> {}", name, actual, expected);
+        }
+    }
+
+    private AtomicLong vehicleCounter(String status) {
+        return vehicles.computeIfAbsent(status, key -> new AtomicLong());
+    }
+}
@@ -0,0 +1,56 @@
+package com.vfms.report.service;
+
+import com.vfms.common.jdbc.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters for the Prometheus endpoint. Current fleet state is exported
+ * from {@link FleetCounters}; events are counted as they commit.
+ */
+@Component
+public class FleetMetrics {
+
+    private final Counter tripsStarted;
+    private final Counter tripsCompleted;
+    private final Counter fuelRecords;
+    private final Counter fuelLitres;
+    private final Counter fuelCost;
+
+    public FleetMetrics(MeterRegistry meterRegistry, FleetCounters fleetCounters) {
+        this.tripsStarted = Counter.builder("fleet.trips.started").register(meterRegistry);
+        this.tripsCompleted = Counter.builder("fleet.trips.completed").register(meterRegistry);
+        this.fuelRecords = Counter.builder("fleet.fuel.records").register(meterRegistry);
+        this.fuelLitres = Counter.builder("fleet.fuel.recorded").baseUnit("litres").register(meterRegistry);
+        this.fuelCost = Counter.builder("fleet.fuel.cost").register(meterRegistry);
+
+        Gauge.builder("fleet.trips.active", fleetCounters, FleetCounters::activeTrips)
+                .register(meterRegistry);
+        Gauge.builder("fleet.vehicles.available", fleetCounters, FleetCounters::availableVehicles)
+                .register(meterRegistry);
+        Gauge.builder("fleet.vehicles.maintenance", fleetCounters, FleetCounters::vehiclesInMaintenance)
+                .register(meterRegistry);
+    }
+
+    public void tripStarted() {
+        AfterCommit.run(tripsStarted::increment);
+    }
+
+    public void tripCompleted() {
+        AfterCommit.run(tripsCompleted::increment);
+    }
+
+    public void fuelRecorded(Double litres, Double cost) {
+        AfterCommit.run(() -> {
+            fuelRecords.increment();
+            if (litres != null) {
+                fuelLitres.increment(litres);
+            }
+            if (cost != null) {
+                fuelCost.increment(cost);
+            }
+        });
+    }
+}
@@ -1,22 +1,111 @@
 package com.vfms.report.service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vfms.auth.repository.UserRepository;
+import com.vfms.common.dto.StatusCount;
+import com.vfms.fuel.dto.FuelTotals;
+import com.vfms.fuel.repository.FuelRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
-@RequiredArgsConstructor
 public class ReportService {
-    
-    // In future, inject other services here (VehicleService, FuelService, etc.)
+
+    private static final String OVERVIEW_KEY = "overview";
+
+    private final UserRepository userRepository;
+    private final FuelRepository fuelRepository;
+    private final FleetCounters fleetCounters;
+
+    // Single-entry snapshot: concurrent pollers share one computation per TTL window
+    private final AsyncCache<String, Map<String, Object>> snapshot;
+
+    public ReportService(UserRepository userRepository,
+                         FuelRepository fuelRepository,
+                         FleetCounters fleetCounters,
+                         @Value("${application.reports.overview-ttl:15s}") Duration overviewTtl) {
+        this.userRepository = userRepository;
+        this.fuelRepository = fuelRepository;
+        this.fleetCounters = fleetCounters;
+        this.snapshot = Caffeine.newBuilder()
+                .expireAfterWrite(overviewTtl)
+                .buildAsync();
+    }
 
     public Map<String, Object> getSystemOverview() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalVehicles", 0); // Placeholder
-        stats.put("totalDrivers", 0);
-        stats.put("activeTrips", 0);
+        CompletableFuture<Map<String, Object>> pending = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> current = snapshot.asMap().putIfAbsent(OVERVIEW_KEY, pending);
+        if (current != null) {
+            return current.join();
+        }
+        // Computed on the caller's thread outside any lock, so waiting virtual threads never pin.
+        // A failed computation is dropped from the cache and the next caller retries.
+        try {
+            pending.complete(computeOverview());
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        return pending.join();
+    }
+
+    /**
+     * Live trip and vehicle counts, answered from in-memory counters without querying.
+     */
+    public Map<String, Object> getFleetStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("activeTrips", fleetCounters.activeTrips());
+        status.put("availableVehicles", fleetCounters.availableVehicles());
+        status.put("vehiclesInMaintenance", fleetCounters.vehiclesInMaintenance());
+        status.put("tripsByStatus", fleetCounters.tripsByStatus());
+        status.put("vehiclesByStatus", fleetCounters.vehiclesByStatus());
+        return status;
+    }
+
+    private Map<String, Object> computeOverview() {
+        // Trip and vehicle breakdowns come from the live counters; drivers and fuel are aggregated
+        Map<String, Long> vehiclesByStatus = fleetCounters.vehiclesByStatus();
+        Map<String, Long> tripsByStatus = fleetCounters.tripsByStatus();
+        Map<String, Long> driversByStatus = toMap(userRepository.countDriversByStatus());
+
+        YearMonth month = YearMonth.now();
+        FuelTotals fuel = fuelRepository.sumBetween(month.atDay(1), month.plusMonths(1).atDay(1));
+        Map<String, Object> fuelThisMonth = new LinkedHashMap<>();
+        fuelThisMonth.put("month", month.toString());
+        fuelThisMonth.put("cost", fuel.getCost());
+        fuelThisMonth.put("litres", fuel.getLitres());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalVehicles", sum(vehiclesByStatus));
+        stats.put("totalDrivers", sum(driversByStatus));
+        stats.put("activeTrips", fleetCounters.activeTrips());
+        stats.put("vehiclesByStatus", vehiclesByStatus);
+        stats.put("driversByStatus", driversByStatus);
+        stats.put("tripsByStatus", tripsByStatus);
+        stats.put("fuelThisMonth", fuelThisMonth);
+        stats.put("generatedAt", Instant.now().toString());
         return stats;
     }
+
+    private static Map<String, Long> toMap(List<StatusCount> counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (StatusCount count : counts) {
+            String status = count.getStatus() != null ? count.getStatus().toString() : "UNKNOWN";
+            result.merge(status, count.getCount(), Long::sum);
+        }
+        return result;
+    }
+
+    private static long sum(Map<String, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
 }
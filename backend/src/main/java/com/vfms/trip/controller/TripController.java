@@ -1,10 +1,20 @@
 package com.vfms.trip.controller;
 
+import com.vfms.common.export.ExportFormat;
+import com.vfms.common.export.StreamingExporter;
+import com.vfms.common.web.ConditionalResponses;
+import com.vfms.common.web.PageResponses;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.trip.dto.TripFilter;
+import com.vfms.trip.dto.TripSummary;
 import com.vfms.trip.model.Trip;
+import com.vfms.trip.model.TripStatus;
 import com.vfms.trip.service.TripService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -13,41 +23,76 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TripController {
     private final TripService service;
+    private final ResourceVersions versions;
 
     /**
-     * Retrieves all trips.
+     * Retrieves trips newest first, one page at a time.
+     * Pass the X-Next-Cursor response header back as {@code cursor} to get the next page.
+     * Trip lists answer 304 if the If-None-Match ETag is still current.
      * 
-     * @return List of all trips.
+     * @param filter Optional status, driver, vehicle, requester and start time filters.
+     * @param cursor The cursor returned with the previous page.
+     * @param limit  The page size.
+     * @return One page of trips.
      */
     @GetMapping
-    public ResponseEntity<List<Trip>> getAllTrips() {
-        return ResponseEntity.ok(service.getAllTrips());
+    public ResponseEntity<List<TripSummary>> getAllTrips(TripFilter filter,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "" + TripService.DEFAULT_PAGE_SIZE) int limit, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, listTag(),
+                () -> PageResponses.of(service.findTrips(filter, cursor, limit)));
     }
 
     @GetMapping("/driver/{id}")
-    public ResponseEntity<List<Trip>> getTripsByDriver(@PathVariable Integer id) {
-        return ResponseEntity.ok(service.getTripsByDriver(id));
+    public ResponseEntity<List<TripSummary>> getTripsByDriver(@PathVariable Integer id, TripFilter filter,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "" + TripService.DEFAULT_PAGE_SIZE) int limit, WebRequest request) {
+        filter.setDriverId(id);
+        return ConditionalResponses.ifNoneMatch(request, listTag(),
+                () -> PageResponses.of(service.findTrips(filter, cursor, limit)));
     }
 
     @GetMapping("/requester/{id}")
-    public ResponseEntity<List<Trip>> getTripsByRequester(@PathVariable Integer id) {
-        return ResponseEntity.ok(service.getTripsByRequester(id));
+    public ResponseEntity<List<TripSummary>> getTripsByRequester(@PathVariable Integer id, TripFilter filter,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "" + TripService.DEFAULT_PAGE_SIZE) int limit, WebRequest request) {
+        filter.setRequesterId(id);
+        return ConditionalResponses.ifNoneMatch(request, listTag(),
+                () -> PageResponses.of(service.findTrips(filter, cursor, limit)));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Trip>> getTripsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(service.getTripsByStatus(com.vfms.trip.model.TripStatus.valueOf(status)));
+    public ResponseEntity<List<TripSummary>> getTripsByStatus(@PathVariable String status, TripFilter filter,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "" + TripService.DEFAULT_PAGE_SIZE) int limit, WebRequest request) {
+        filter.setStatus(TripStatus.valueOf(status));
+        return ConditionalResponses.ifNoneMatch(request, listTag(),
+                () -> PageResponses.of(service.findTrips(filter, cursor, limit)));
     }
 
     /**
-     * Retrieves a trip by ID.
+     * Streams every trip matching the filter as a CSV or NDJSON download.
+     * 
+     * @param filter The same filters and sort order as the trip list.
+     * @param format csv (default) or ndjson.
+     * @return The export, written while the rows are read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTrips(TripFilter filter,
+                                                             @RequestParam(defaultValue = "csv") ExportFormat format) {
+        return StreamingExporter.response("trips", format, out -> service.exportTrips(filter, format, out));
+    }
+
+    /**
+     * Retrieves a trip by ID. Answers 304 if the If-None-Match ETag is still current.
      * 
      * @param id The trip ID.
      * @return The trip details.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Trip> getTrip(@PathVariable Integer id) {
-        return ResponseEntity.ok(service.getTripById(id));
+    public ResponseEntity<Trip> getTrip(@PathVariable Integer id, WebRequest request) {
+        String etag = versions.rowTag(ResourceVersions.TRIPS, id, ResourceVersions.USERS, ResourceVersions.VEHICLES);
+        return ConditionalResponses.ifNoneMatch(request, etag, () -> ResponseEntity.ok(service.getTripById(id)));
     }
 
     /**
@@ -94,4 +139,11 @@ public class TripController {
     public ResponseEntity<Trip> completeTrip(@PathVariable Integer id, @RequestBody com.vfms.trip.dto.TripCompletionRequest request) {
         return ResponseEntity.ok(service.completeTrip(id, request));
     }
+
+    /**
+     * Trip rows embed driver, requester and vehicle names.
+     */
+    private String listTag() {
+        return versions.collectionTag(ResourceVersions.TRIPS, ResourceVersions.USERS, ResourceVersions.VEHICLES);
+    }
 }
@@ -0,0 +1,38 @@
+package com.vfms.trip.dto;
+
+import com.vfms.trip.model.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query parameters accepted by the trip list endpoints. Every field is optional.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TripFilter {
+
+    public enum SortField { id, startTime }
+
+    private TripStatus status;
+    private Integer driverId;
+    private Integer vehicleId;
+    private Integer requesterId;
+
+    // Start time range, from inclusive and to exclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    @Builder.Default
+    private SortField sort = SortField.id;
+    @Builder.Default
+    private boolean ascending = false;
+}
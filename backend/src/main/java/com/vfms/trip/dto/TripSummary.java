@@ -0,0 +1,48 @@
+package com.vfms.trip.dto;
+
+import com.vfms.auth.dto.UserRef;
+import com.vfms.auth.model.Role;
+import com.vfms.trip.model.TripStatus;
+import com.vfms.vehicle.dto.VehicleRef;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trip list row. Only carries the columns the dashboards render, so listing trips
+ * never loads whole driver, requester or vehicle entities.
+ */
+public record TripSummary(
+        Integer id,
+        String startLocation,
+        String endLocation,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        TripStatus status,
+        String distance,
+        Double startOdometer,
+        Double endOdometer,
+        Double fuelConsumed,
+        String notes,
+        UserRef driver,
+        VehicleRef vehicle,
+        UserRef requester
+) {
+
+    /**
+     * Flat constructor for JPQL constructor expressions.
+     */
+    public TripSummary(Integer id, String startLocation, String endLocation,
+                       LocalDateTime startTime, LocalDateTime endTime, TripStatus status,
+                       String distance, Double startOdometer, Double endOdometer,
+                       Double fuelConsumed, String notes,
+                       Integer driverId, String driverName, Role driverRole,
+                       Integer vehicleId, String vehicleMake, String vehicleModel, String vehicleLicensePlate,
+                       Double vehicleOdometer,
+                       Integer requesterId, String requesterName, Role requesterRole) {
+        this(id, startLocation, endLocation, startTime, endTime, status, distance,
+                startOdometer, endOdometer, fuelConsumed, notes,
+                UserRef.of(driverId, driverName, driverRole),
+                VehicleRef.of(vehicleId, vehicleMake, vehicleModel, vehicleLicensePlate, vehicleOdometer),
+                UserRef.of(requesterId, requesterName, requesterRole));
+    }
+}
@@ -0,0 +1,16 @@
+package com.vfms.trip.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The part of an active trip that books a vehicle and driver: who, and when.
+ * A missing start or end leaves the booking open on that side.
+ */
+public record TripWindow(
+        Integer id,
+        Integer vehicleId,
+        Integer driverId,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -0,0 +1,38 @@
+package com.vfms.trip.event;
+
+import com.vfms.common.event.ChangeType;
+import com.vfms.trip.model.Trip;
+import com.vfms.trip.model.TripStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link com.vfms.trip.service.TripService} whenever a trip changes.
+ * Carries ids rather than entities so listeners never touch a persistence context.
+ *
+ * @param previousStatus The status before this change, or null for a created trip or an unknown one.
+ */
+public record TripChangedEvent(
+        ChangeType change,
+        Integer tripId,
+        TripStatus status,
+        TripStatus previousStatus,
+        Integer driverId,
+        Integer requesterId,
+        Integer vehicleId,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+
+    public static TripChangedEvent of(ChangeType change, Trip trip) {
+        return of(change, trip, null);
+    }
+
+    public static TripChangedEvent of(ChangeType change, Trip trip, TripStatus previousStatus) {
+        return new TripChangedEvent(change, trip.getId(), trip.getStatus(), previousStatus,
+                trip.getDriver() != null ? trip.getDriver().getId() : null,
+                trip.getRequester() != null ? trip.getRequester().getId() : null,
+                trip.getVehicle() != null ? trip.getVehicle().getId() : null,
+                trip.getStartTime(), trip.getEndTime());
+    }
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import com.vfms.auth.model.User;
 import com.vfms.vehicle.model.Vehicle;
@@ -15,7 +17,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "trip")
+@Table(name = "trip", indexes = {
+        @Index(name = "idx_trip_driver", columnList = "driver_id"),
+        @Index(name = "idx_trip_vehicle", columnList = "vehicle_id"),
+        @Index(name = "idx_trip_requester", columnList = "requester_id"),
+        @Index(name = "idx_trip_status", columnList = "status"),
+        @Index(name = "idx_trip_start_time", columnList = "start_time")
+})
 public class Trip {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,15 +37,19 @@ public class Trip {
     @Enumerated(EnumType.STRING)
     private TripStatus status;
 
+    // Loaded by id rather than joined, so cached drivers and vehicles are taken from the second-level cache
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     @JoinColumn(name = "driver_id")
     private User driver;
 
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     @JoinColumn(name = "vehicle_id")
     private Vehicle vehicle;
 
     @ManyToOne
+    @Fetch(FetchMode.SELECT)
     @JoinColumn(name = "requester_id")
     private User requester;
 
@@ -48,4 +60,9 @@ public class Trip {
     private Double endOdometer;
     private Double fuelConsumed; // in Liters
     private String notes;
+
+    // Bumped on every update, including the conditional status transitions in TripRepository
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
 }
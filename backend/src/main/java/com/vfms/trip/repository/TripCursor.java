@@ -0,0 +1,35 @@
+package com.vfms.trip.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page: the sort key plus the id as tie-breaker.
+ * Clients only ever see it as an opaque string.
+ */
+public record TripCursor(Integer id, LocalDateTime startTime) {
+
+    public String encode() {
+        String raw = id + "|" + (startTime != null ? startTime : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TripCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            Integer id = Integer.valueOf(raw.substring(0, separator));
+            String startTime = raw.substring(separator + 1);
+            return new TripCursor(id, startTime.isEmpty() ? null : LocalDateTime.parse(startTime));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
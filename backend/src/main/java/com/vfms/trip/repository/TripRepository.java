@@ -1,13 +1,67 @@
 package com.vfms.trip.repository;
 
+import com.vfms.common.dto.StatusCount;
+import com.vfms.trip.dto.TripWindow;
 import com.vfms.trip.model.Trip;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.vfms.trip.model.TripStatus;
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface TripRepository extends JpaRepository<Trip, Integer> {
+public interface TripRepository extends JpaRepository<Trip, Integer>, TripRepositoryCustom {
     List<Trip> findByDriverId(Integer driverId);
     List<Trip> findByRequesterId(Integer requesterId);
     List<Trip> findByStatus(TripStatus status);
+
+    @Query("select t.status as status, count(t) as count from Trip t group by t.status")
+    List<StatusCount> countByStatus();
+
+    /**
+     * Time windows of every trip that still holds its vehicle and driver.
+     */
+    @Query("select new com.vfms.trip.dto.TripWindow(t.id, v.id, d.id, t.startTime, t.endTime) "
+            + "from Trip t left join t.vehicle v left join t.driver d "
+            + "where t.status in (com.vfms.trip.model.TripStatus.ASSIGNED, com.vfms.trip.model.TripStatus.STARTED)")
+    List<TripWindow> findActiveWindows();
+
+    /**
+     * Ids of the driver's ASSIGNED or STARTED trips overlapping {@code [start, end)}, other
+     * than {@code excludeId}. A missing bound is open; a trip that ends before it starts
+     * counts as lasting one second, as in {@link com.vfms.trip.service.TripSchedule}.
+     */
+    @Query("select t.id from Trip t where t.driver.id = :driverId "
+            + "and t.status in (com.vfms.trip.model.TripStatus.ASSIGNED, com.vfms.trip.model.TripStatus.STARTED) "
+            + "and (:excludeId is null or t.id <> :excludeId) "
+            + "and (:end is null or t.startTime is null or t.startTime < :end) "
+            + "and (:start is null or t.endTime is null or t.endTime > :start or t.startTime >= :start) "
+            + "order by t.id")
+    List<Integer> findOverlappingDriverTrips(Integer driverId, LocalDateTime start, LocalDateTime end, Integer excludeId);
+
+    /**
+     * Moves an ASSIGNED trip to STARTED in one conditional update, taking the start
+     * odometer from its vehicle.
+     *
+     * @return 1 if the trip was started, 0 if it was not ASSIGNED.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Trip t set t.status = com.vfms.trip.model.TripStatus.STARTED, t.startTime = :startTime, "
+            + "t.startOdometer = (select v.currentOdometer from Vehicle v where v = t.vehicle), "
+            + "t.version = t.version + 1 "
+            + "where t.id = :id and t.status = com.vfms.trip.model.TripStatus.ASSIGNED")
+    int markStarted(Integer id, LocalDateTime startTime);
+
+    /**
+     * Moves a STARTED trip to COMPLETED in one conditional update.
+     *
+     * @return 1 if the trip was completed, 0 if it was not STARTED.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Trip t set t.status = com.vfms.trip.model.TripStatus.COMPLETED, t.endTime = :endTime, "
+            + "t.endOdometer = :endOdometer, t.fuelConsumed = :fuelConsumed, t.notes = :notes, "
+            + "t.version = t.version + 1 "
+            + "where t.id = :id and t.status = com.vfms.trip.model.TripStatus.STARTED")
+    int markCompleted(Integer id, LocalDateTime endTime, Double endOdometer, Double fuelConsumed, String notes);
 }
@@ -0,0 +1,22 @@
+package com.vfms.trip.repository;
+
+import com.vfms.trip.dto.TripFilter;
+import com.vfms.trip.dto.TripSummary;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TripRepositoryCustom {
+
+    /**
+     * Keyset-paginated, filtered listing. Returns at most {@code limit} trips
+     * positioned strictly after {@code after} in the filter's sort order.
+     */
+    List<TripSummary> findPage(TripFilter filter, TripCursor after, int limit);
+
+    /**
+     * Every trip matching the filter, in the filter's sort order, read through a
+     * forward-only cursor. Must be consumed and closed inside a transaction.
+     */
+    Stream<TripSummary> streamAll(TripFilter filter, int fetchSize);
+}
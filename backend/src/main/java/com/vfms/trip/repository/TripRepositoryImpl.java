@@ -0,0 +1,134 @@
+package com.vfms.trip.repository;
+
+import com.vfms.auth.model.User;
+import com.vfms.trip.dto.TripFilter;
+import com.vfms.trip.dto.TripSummary;
+import com.vfms.trip.model.Trip;
+import com.vfms.vehicle.model.Vehicle;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TripRepositoryImpl implements TripRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TripSummary> findPage(TripFilter filter, TripCursor after, int limit) {
+        return entityManager.createQuery(summaryQuery(filter, after))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TripSummary> streamAll(TripFilter filter, int fetchSize) {
+        return entityManager.createQuery(summaryQuery(filter, null))
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<TripSummary> summaryQuery(TripFilter filter, TripCursor after) {
+        HibernateCriteriaBuilder cb = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getCriteriaBuilder();
+        CriteriaQuery<TripSummary> query = cb.createQuery(TripSummary.class);
+        Root<Trip> trip = query.from(Trip.class);
+        Join<Trip, User> driver = trip.join("driver", JoinType.LEFT);
+        Join<Trip, Vehicle> vehicle = trip.join("vehicle", JoinType.LEFT);
+        Join<Trip, User> requester = trip.join("requester", JoinType.LEFT);
+
+        List<Predicate> predicates = filterPredicates(cb, trip, filter);
+        Expression<Integer> id = trip.get("id");
+        boolean ascending = filter.isAscending();
+
+        if (filter.getSort() == TripFilter.SortField.startTime) {
+            // Ordered on the bare column, nulls where a plain b-tree index keeps them (after every start
+            // time ascending, before them descending), so the index on start_time serves the sort
+            Expression<LocalDateTime> startTime = trip.get("startTime");
+            if (after != null) {
+                predicates.add(after.startTime() == null
+                        ? afterNullStartTime(cb, startTime, id, after.id(), ascending)
+                        : afterStartTime(cb, startTime, id, after, ascending));
+            }
+            query.orderBy(ascending
+                    ? List.of(cb.asc(startTime, false), cb.asc(id))
+                    : List.of(cb.desc(startTime, true), cb.desc(id)));
+        } else {
+            if (after != null) {
+                predicates.add(ascending ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id()));
+            }
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        query.select(cb.construct(TripSummary.class,
+                        trip.get("id"), trip.get("startLocation"), trip.get("endLocation"),
+                        trip.get("startTime"), trip.get("endTime"), trip.get("status"),
+                        trip.get("distance"), trip.get("startOdometer"), trip.get("endOdometer"),
+                        trip.get("fuelConsumed"), trip.get("notes"),
+                        driver.get("id"), driver.get("name"), driver.get("role"),
+                        vehicle.get("id"), vehicle.get("make"), vehicle.get("model"), vehicle.get("licensePlate"),
+                        vehicle.get("currentOdometer"),
+                        requester.get("id"), requester.get("name"), requester.get("role")))
+                .where(predicates.toArray(Predicate[]::new));
+        return query;
+    }
+
+    private static Predicate afterStartTime(CriteriaBuilder cb, Expression<LocalDateTime> startTime,
+                                            Expression<Integer> id, TripCursor after, boolean ascending) {
+        if (ascending) {
+            // Trips without a start time come last
+            return cb.or(cb.greaterThan(startTime, after.startTime()),
+                    cb.and(cb.equal(startTime, after.startTime()), cb.greaterThan(id, after.id())),
+                    cb.isNull(startTime));
+        }
+        return cb.or(cb.lessThan(startTime, after.startTime()),
+                cb.and(cb.equal(startTime, after.startTime()), cb.lessThan(id, after.id())));
+    }
+
+    private static Predicate afterNullStartTime(CriteriaBuilder cb, Expression<LocalDateTime> startTime,
+                                                Expression<Integer> id, Integer afterId, boolean ascending) {
+        if (ascending) {
+            return cb.and(cb.isNull(startTime), cb.greaterThan(id, afterId));
+        }
+        // Trips without a start time come first
+        return cb.or(cb.and(cb.isNull(startTime), cb.lessThan(id, afterId)), cb.isNotNull(startTime));
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Trip> trip, TripFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(trip.get("status"), filter.getStatus()));
+        }
+        if (filter.getDriverId() != null) {
+            predicates.add(cb.equal(trip.get("driver").get("id"), filter.getDriverId()));
+        }
+        if (filter.getVehicleId() != null) {
+            predicates.add(cb.equal(trip.get("vehicle").get("id"), filter.getVehicleId()));
+        }
+        if (filter.getRequesterId() != null) {
+            predicates.add(cb.equal(trip.get("requester").get("id"), filter.getRequesterId()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(trip.get("startTime"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(trip.get("startTime"), filter.getTo()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,206 @@
+package com.vfms.trip.service;
+
+import com.vfms.common.interval.IntervalIndex;
+import com.vfms.common.jdbc.AfterCommit;
+import com.vfms.trip.dto.TripWindow;
+import com.vfms.trip.model.Trip;
+import com.vfms.trip.model.TripStatus;
+import com.vfms.trip.repository.TripRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory view of when each vehicle and driver is booked by an ASSIGNED or STARTED
+ * trip, so dispatch can ask who is free in a window without reading trips.
+ * Kept current by {@link TripService}, loaded at startup and periodically reloaded
+ * to pick up changes made by other instances. Double-booking checks do not rely on it;
+ * see {@link TripService}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripSchedule {
+
+    private final TripRepository tripRepository;
+
+    private final IntervalIndex<Integer> vehicleBookings = new IntervalIndex<>();
+    private final IntervalIndex<Integer> driverBookings = new IntervalIndex<>();
+
+    // Guards index updates and the replay list; held only for in-memory work
+    private final Lock updateLock = new ReentrantLock();
+    private final Lock reloadLock = new ReentrantLock();
+    // Changes applied while a reload reads the database, re-applied on top of its snapshot
+    private List<Runnable> replay;
+
+    /**
+     * Records a trip's current state once the surrounding transaction commits: active
+     * trips book their vehicle and driver, others release them.
+     */
+    public void tripSaved(Trip trip) {
+        if (trip.getId() == null) {
+            return;
+        }
+        // Read now: the entity may change before the commit
+        int tripId = trip.getId();
+        boolean active = isActive(trip.getStatus());
+        long start = toEpochSecond(trip.getStartTime(), Long.MIN_VALUE);
+        long end = end(trip.getStartTime(), trip.getEndTime());
+        Integer vehicleId = trip.getVehicle() != null ? trip.getVehicle().getId() : null;
+        Integer driverId = driverId(trip);
+        AfterCommit.run(() -> apply(() -> {
+            if (active && vehicleId != null) {
+                vehicleBookings.put(tripId, vehicleId, start, end);
+            } else {
+                vehicleBookings.remove(tripId);
+            }
+            if (active && driverId != null) {
+                driverBookings.put(tripId, driverId, start, end);
+            } else {
+                driverBookings.remove(tripId);
+            }
+        }));
+    }
+
+    /**
+     * Forgets a trip once the surrounding transaction commits.
+     */
+    public void tripRemoved(Integer tripId) {
+        AfterCommit.run(() -> apply(() -> {
+            vehicleBookings.remove(tripId);
+            driverBookings.remove(tripId);
+        }));
+    }
+
+    /**
+     * @return The candidates with no active trip overlapping {@code [from, to)}, in input order.
+     */
+    public List<Integer> freeVehicles(Collection<Integer> vehicleIds, LocalDateTime from, LocalDateTime to) {
+        return free(vehicleBookings, vehicleIds, from, to);
+    }
+
+    /**
+     * @return The candidates with no active trip overlapping {@code [from, to)}, in input order.
+     */
+    public List<Integer> freeDrivers(Collection<Integer> driverIds, LocalDateTime from, LocalDateTime to) {
+        return free(driverBookings, driverIds, from, to);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Rebuilds the index from the database. Changes recorded while the query runs are
+     * re-applied on top of its result, so a reload never loses a booking made meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${application.trips.schedule-reload-ms:300000}",
+            initialDelayString = "${application.trips.schedule-reload-ms:300000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            setReplay(new ArrayList<>());
+            List<TripWindow> windows;
+            try {
+                windows = tripRepository.findActiveWindows();
+            } catch (RuntimeException e) {
+                setReplay(null);
+                throw e;
+            }
+            rebuild(windows);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void rebuild(List<TripWindow> windows) {
+        List<IntervalIndex.Booking<Integer>> vehicles = new ArrayList<>();
+        List<IntervalIndex.Booking<Integer>> drivers = new ArrayList<>();
+        for (TripWindow window : windows) {
+            long start = toEpochSecond(window.startTime(), Long.MIN_VALUE);
+            long end = end(window.startTime(), window.endTime());
+            if (window.vehicleId() != null) {
+                vehicles.add(new IntervalIndex.Booking<>(window.id(), window.vehicleId(), start, end));
+            }
+            if (window.driverId() != null) {
+                drivers.add(new IntervalIndex.Booking<>(window.id(), window.driverId(), start, end));
+            }
+        }
+        updateLock.lock();
+        try {
+            vehicleBookings.replaceAll(vehicles);
+            driverBookings.replaceAll(drivers);
+            replay.forEach(Runnable::run);
+            replay = null;
+        } finally {
+            updateLock.unlock();
+        }
+        log.debug("Trip schedule loaded: {} vehicle and {} driver bookings", vehicles.size(), drivers.size());
+    }
+
+    private void setReplay(List<Runnable> changes) {
+        updateLock.lock();
+        try {
+            replay = changes;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void apply(Runnable change) {
+        updateLock.lock();
+        try {
+            change.run();
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private static List<Integer> free(IntervalIndex<Integer> bookings, Collection<Integer> ids,
+                                      LocalDateTime from, LocalDateTime to) {
+        long start = toEpochSecond(from, Long.MIN_VALUE);
+        long end = toEpochSecond(to, Long.MAX_VALUE);
+        List<Integer> free = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            if (bookings.isFree(id, start, end)) {
+                free.add(id);
+            }
+        }
+        return free;
+    }
+
+    private static Integer driverId(Trip trip) {
+        return trip.getDriver() != null ? trip.getDriver().getId() : null;
+    }
+
+    private static boolean isActive(TripStatus status) {
+        return status == TripStatus.ASSIGNED || status == TripStatus.STARTED;
+    }
+
+    // An active trip without an end holds its vehicle until it is completed
+    private static long end(LocalDateTime startTime, LocalDateTime endTime) {
+        long start = toEpochSecond(startTime, Long.MIN_VALUE);
+        long end = toEpochSecond(endTime, Long.MAX_VALUE);
+        return end > start ? end : start + 1;
+    }
+
+    // Trip times are stored without a zone; any fixed offset preserves their order
+    private static long toEpochSecond(LocalDateTime time, long ifAbsent) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : ifAbsent;
+    }
+}
@@ -1,95 +1,280 @@
 package com.vfms.trip.service;
 
+import com.vfms.auth.model.User;
+import com.vfms.auth.repository.UserRepository;
+import com.vfms.common.dto.CursorPage;
+import com.vfms.common.event.ChangeType;
+import com.vfms.common.export.ExportColumn;
+import com.vfms.common.export.ExportFormat;
+import com.vfms.common.export.StreamingExporter;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.report.service.FleetCounters;
+import com.vfms.report.service.FleetMetrics;
+import com.vfms.trip.dto.TripFilter;
+import com.vfms.trip.dto.TripSummary;
+import com.vfms.trip.event.TripChangedEvent;
 import com.vfms.trip.model.Trip;
+import com.vfms.trip.model.TripStatus;
+import com.vfms.trip.repository.TripCursor;
 import com.vfms.trip.repository.TripRepository;
+import com.vfms.vehicle.event.VehicleChangedEvent;
+import com.vfms.vehicle.model.Vehicle;
+import com.vfms.vehicle.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TripService {
-    private final TripRepository repository;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
 
-    public List<Trip> getAllTrips() {
-        return repository.findAll();
-    }
+    private static final List<ExportColumn<TripSummary>> EXPORT_COLUMNS = List.of(
+            new ExportColumn<>("id", TripSummary::id),
+            new ExportColumn<>("status", TripSummary::status),
+            new ExportColumn<>("startTime", TripSummary::startTime),
+            new ExportColumn<>("endTime", TripSummary::endTime),
+            new ExportColumn<>("startLocation", TripSummary::startLocation),
+            new ExportColumn<>("endLocation", TripSummary::endLocation),
+            new ExportColumn<>("distance", TripSummary::distance),
+            new ExportColumn<>("startOdometer", TripSummary::startOdometer),
+            new ExportColumn<>("endOdometer", TripSummary::endOdometer),
+            new ExportColumn<>("fuelConsumed", TripSummary::fuelConsumed),
+            new ExportColumn<>("driverId", t -> t.driver() != null ? t.driver().id() : null),
+            new ExportColumn<>("driverName", t -> t.driver() != null ? t.driver().name() : null),
+            new ExportColumn<>("vehicleId", t -> t.vehicle() != null ? t.vehicle().id() : null),
+            new ExportColumn<>("licensePlate", t -> t.vehicle() != null ? t.vehicle().licensePlate() : null),
+            new ExportColumn<>("requesterId", t -> t.requester() != null ? t.requester().id() : null),
+            new ExportColumn<>("requesterName", t -> t.requester() != null ? t.requester().name() : null),
+            new ExportColumn<>("notes", TripSummary::notes));
 
-    public List<Trip> getTripsByDriver(Integer driverId) {
-        return repository.findByDriverId(driverId);
-    }
+    private final TripRepository repository;
+    private final VehicleRepository vehicleRepository;
+    private final UserRepository userRepository;
+    private final TripSchedule schedule;
+    private final ApplicationEventPublisher events;
+    private final ResourceVersions versions;
+    private final FleetCounters fleetCounters;
+    private final FleetMetrics fleetMetrics;
+    private final StreamingExporter exporter;
 
-    public List<Trip> getTripsByRequester(Integer requesterId) {
-        return repository.findByRequesterId(requesterId);
+    /**
+     * Returns one page of trips matching the filter, positioned after the given cursor.
+     */
+    public CursorPage<TripSummary> findTrips(TripFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists
+        List<TripSummary> trips = repository.findPage(filter, TripCursor.decode(cursor), pageSize + 1);
+        if (trips.size() <= pageSize) {
+            return new CursorPage<>(trips, null);
+        }
+        List<TripSummary> page = trips.subList(0, pageSize);
+        TripSummary last = page.get(pageSize - 1);
+        return new CursorPage<>(page, new TripCursor(last.id(), last.startTime()).encode());
     }
 
-    public List<Trip> getTripsByStatus(com.vfms.trip.model.TripStatus status) {
-        return repository.findByStatus(status);
+    /**
+     * Writes every trip matching the filter to {@code out}, reading them through a database cursor.
+     */
+    @Transactional(readOnly = true)
+    public void exportTrips(TripFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TripSummary> trips = repository.streamAll(filter, StreamingExporter.FETCH_SIZE)) {
+            exporter.write(trips, format, EXPORT_COLUMNS, out);
+        }
     }
 
     public Trip getTripById(Integer id) {
         return repository.findById(id).orElseThrow(() -> new RuntimeException("Trip not found"));
     }
 
+    /**
+     * @throws ResponseStatusException 409 if the driver already has an overlapping active trip.
+     */
+    @Transactional
     public Trip createTrip(Trip trip) {
-        return repository.save(trip);
+        trip.setVehicle(resolveVehicle(trip.getVehicle()));
+        trip.setDriver(resolveDriver(trip.getDriver()));
+        trip.setRequester(resolveUser(trip.getRequester(), "requester"));
+        checkDriverFree(trip);
+        Trip saved = repository.save(trip);
+        schedule.tripSaved(saved);
+        fleetCounters.tripStatusChanged(null, saved.getStatus());
+        versions.changed(ResourceVersions.TRIPS, saved.getId());
+        events.publishEvent(TripChangedEvent.of(ChangeType.CREATED, saved));
+        return saved;
     }
 
+    /**
+     * @throws ObjectOptimisticLockingFailureException if the request carries a version
+     *         and the trip has changed since.
+     * @throws ResponseStatusException 409 if the driver already has an overlapping active trip.
+     */
+    @Transactional
     public Trip updateTrip(Integer id, Trip tripDetails) {
         Trip trip = getTripById(id);
+        if (tripDetails.getVersion() != null && !tripDetails.getVersion().equals(trip.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Trip.class, id);
+        }
+        com.vfms.trip.model.TripStatus previousStatus = trip.getStatus();
         trip.setStartLocation(tripDetails.getStartLocation());
         trip.setEndLocation(tripDetails.getEndLocation());
         trip.setStartTime(tripDetails.getStartTime());
         trip.setEndTime(tripDetails.getEndTime());
         trip.setStatus(tripDetails.getStatus());
-        trip.setDriver(tripDetails.getDriver());
-        trip.setVehicle(tripDetails.getVehicle());
+        trip.setDriver(resolveDriver(tripDetails.getDriver()));
+        trip.setVehicle(resolveVehicle(tripDetails.getVehicle()));
         trip.setDistance(tripDetails.getDistance());
-        return repository.save(trip);
+        checkDriverFree(trip);
+        Trip saved = repository.save(trip);
+        schedule.tripSaved(saved);
+        fleetCounters.tripStatusChanged(previousStatus, saved.getStatus());
+        versions.changed(ResourceVersions.TRIPS, id);
+        events.publishEvent(TripChangedEvent.of(ChangeType.UPDATED, saved, previousStatus));
+        return saved;
     }
 
+    @Transactional
     public void deleteTrip(Integer id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(trip -> {
+            repository.delete(trip);
+            fleetCounters.tripStatusChanged(trip.getStatus(), null);
+            schedule.tripRemoved(trip.getId());
+            versions.changed(ResourceVersions.TRIPS, id);
+            events.publishEvent(TripChangedEvent.of(ChangeType.DELETED, trip, trip.getStatus()));
+        });
     }
 
+    /**
+     * Starts an ASSIGNED trip and claims its vehicle. Both are conditional updates in one
+     * transaction, so of two concurrent starts, or two trips sharing a vehicle, exactly one wins.
+     *
+     * @throws ResponseStatusException 409 if the trip is no longer ASSIGNED or its vehicle is in use
+     *                                 or in maintenance.
+     */
+    @Transactional
     public Trip startTrip(Integer id) {
         Trip trip = getTripById(id);
-        if (trip.getStatus() != com.vfms.trip.model.TripStatus.ASSIGNED) {
-            throw new RuntimeException("Only ASSIGNED trips can be started");
+        String previousVehicleStatus = trip.getVehicle() != null ? trip.getVehicle().getStatus() : null;
+        if (repository.markStarted(id, LocalDateTime.now()) == 0) {
+            throw conflict("Trip " + id + " is " + getTripById(id).getStatus() + ", only ASSIGNED trips can be started");
         }
-        trip.setStatus(com.vfms.trip.model.TripStatus.STARTED);
-        trip.setStartTime(java.time.LocalDateTime.now());
-        
-        // Update vehicle status to IN_USE
-        if (trip.getVehicle() != null) {
-            trip.getVehicle().setStatus("IN_USE");
-            // Set start odometer from current vehicle odometer
-            trip.setStartOdometer(trip.getVehicle().getCurrentOdometer());
+        // Trip row first, vehicle second, in both transitions, so they never deadlock each other
+        if (trip.getVehicle() != null && vehicleRepository.claim(trip.getVehicle().getId()) == 0) {
+            throw conflict("Vehicle " + trip.getVehicle().getId() + " is in use or in maintenance");
         }
 
-        return repository.save(trip);
+        fleetCounters.tripStatusChanged(TripStatus.ASSIGNED, TripStatus.STARTED);
+        fleetMetrics.tripStarted();
+        if (trip.getVehicle() != null) {
+            fleetCounters.vehicleStatusChanged(previousVehicleStatus, FleetCounters.VEHICLE_IN_USE);
+            versions.changed(ResourceVersions.VEHICLES, trip.getVehicle().getId());
+        }
+        versions.changed(ResourceVersions.TRIPS, id);
+        Trip started = getTripById(id);
+        schedule.tripSaved(started);
+        // Delivered after commit by transactional listeners
+        events.publishEvent(TripChangedEvent.of(ChangeType.STARTED, started, TripStatus.ASSIGNED));
+        if (started.getVehicle() != null) {
+            events.publishEvent(VehicleChangedEvent.of(ChangeType.UPDATED, started.getVehicle()));
+        }
+        return started;
     }
-    
+
+    /**
+     * Completes a STARTED trip and releases its vehicle, recording the end odometer on both.
+     *
+     * @throws ResponseStatusException 409 if the trip is no longer STARTED.
+     */
+    @Transactional
     public Trip completeTrip(Integer id, com.vfms.trip.dto.TripCompletionRequest request) {
         Trip trip = getTripById(id);
-         if (trip.getStatus() != com.vfms.trip.model.TripStatus.STARTED) {
-            throw new RuntimeException("Only STARTED trips can be completed");
-        }
-        
-        trip.setStatus(com.vfms.trip.model.TripStatus.COMPLETED);
-        trip.setEndTime(java.time.LocalDateTime.now());
-        trip.setEndOdometer(request.getEndOdometer());
-        trip.setFuelConsumed(request.getFuelConsumed());
-        trip.setNotes(request.getNotes());
-        
-        // Update vehicle details
+        String previousVehicleStatus = trip.getVehicle() != null ? trip.getVehicle().getStatus() : null;
+        if (repository.markCompleted(id, LocalDateTime.now(), request.getEndOdometer(),
+                request.getFuelConsumed(), request.getNotes()) == 0) {
+            throw conflict("Trip " + id + " is " + getTripById(id).getStatus() + ", only STARTED trips can be completed");
+        }
         if (trip.getVehicle() != null) {
-            trip.getVehicle().setStatus("AVAILABLE");
-            trip.getVehicle().setCurrentOdometer(request.getEndOdometer());
+            vehicleRepository.release(trip.getVehicle().getId(), request.getEndOdometer());
             // Could also update fuel level logic here if we had tank capacity
         }
-        
-        return repository.save(trip);
+
+        fleetCounters.tripStatusChanged(TripStatus.STARTED, TripStatus.COMPLETED);
+        fleetMetrics.tripCompleted();
+        if (trip.getVehicle() != null) {
+            fleetCounters.vehicleStatusChanged(previousVehicleStatus, FleetCounters.VEHICLE_AVAILABLE);
+            versions.changed(ResourceVersions.VEHICLES, trip.getVehicle().getId());
+        }
+        versions.changed(ResourceVersions.TRIPS, id);
+        Trip completed = getTripById(id);
+        schedule.tripSaved(completed);
+        events.publishEvent(TripChangedEvent.of(ChangeType.COMPLETED, completed, TripStatus.STARTED));
+        if (completed.getVehicle() != null) {
+            events.publishEvent(VehicleChangedEvent.of(ChangeType.UPDATED, completed.getVehicle()));
+        }
+        return completed;
+    }
+
+    // Request bodies name the vehicle by id only, without the version Hibernate needs to attach it
+    private Vehicle resolveVehicle(Vehicle vehicle) {
+        if (vehicle == null || vehicle.getId() == null) {
+            return null;
+        }
+        return vehicleRepository.findById(vehicle.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown vehicle " + vehicle.getId()));
+    }
+
+    // The driver row stays locked until commit, so bookings of one driver are checked one at a time on every instance
+    private User resolveDriver(User driver) {
+        if (driver == null || driver.getId() == null) {
+            return null;
+        }
+        return userRepository.findAndLockById(driver.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown driver " + driver.getId()));
+    }
+
+    // Request bodies name users by id only; the bare stub cannot be serialised back
+    private User resolveUser(User user, String role) {
+        if (user == null || user.getId() == null) {
+            return null;
+        }
+        return userRepository.findById(user.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown " + role + " " + user.getId()));
+    }
+
+    /**
+     * Refuses to give a driver two overlapping ASSIGNED or STARTED trips. Checked against
+     * the database while the driver row is locked (see {@link #resolveDriver}), so a
+     * concurrent booking made here or on another instance is always seen.
+     */
+    private void checkDriverFree(Trip trip) {
+        if (trip.getDriver() == null
+                || (trip.getStatus() != TripStatus.ASSIGNED && trip.getStatus() != TripStatus.STARTED)) {
+            return;
+        }
+        LocalDateTime start = trip.getStartTime();
+        LocalDateTime end = trip.getEndTime();
+        if (start != null && end != null && !end.isAfter(start)) {
+            end = start.plusSeconds(1);
+        }
+        Integer driverId = trip.getDriver().getId();
+        List<Integer> conflicting = repository.findOverlappingDriverTrips(driverId, start, end, trip.getId());
+        if (!conflicting.isEmpty()) {
+            throw conflict("Driver " + driverId + " already has trip " + conflicting.get(0) + " at that time");
+        }
+    }
+
+    private static ResponseStatusException conflict(String message) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, message);
     }
 }
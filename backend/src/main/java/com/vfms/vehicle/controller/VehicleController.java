@@ -1,11 +1,16 @@
 package com.vfms.vehicle.controller;
 
+import com.vfms.common.web.ConditionalResponses;
+import com.vfms.common.web.ResourceVersions;
 import com.vfms.vehicle.model.Vehicle;
 import com.vfms.vehicle.service.VehicleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -13,26 +18,46 @@ import java.util.List;
 @RequiredArgsConstructor
 public class VehicleController {
     private final VehicleService service;
+    private final ResourceVersions versions;
 
     /**
-     * Retrieves all vehicles.
+     * Retrieves all vehicles. Answers 304 if the If-None-Match ETag is still current.
      * 
      * @return List of all vehicles.
      */
     @GetMapping
-    public ResponseEntity<List<Vehicle>> getAllVehicles() {
-        return ResponseEntity.ok(service.getAllVehicles());
+    public ResponseEntity<List<Vehicle>> getAllVehicles(WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, versions.collectionTag(ResourceVersions.VEHICLES),
+                () -> ResponseEntity.ok(service.getAllVehicles()));
     }
 
     /**
-     * Retrieves a vehicle by potentially its ID.
+     * Vehicles that can be dispatched for a time window: not in maintenance and not
+     * booked by an assigned or started trip that overlaps it.
+     *
+     * @param from Window start, ISO date-time.
+     * @param to   Window end, ISO date-time, exclusive.
+     * @param type Optional vehicle type.
+     * @return The free vehicles, ordered by ID.
+     */
+    @GetMapping("/available")
+    public ResponseEntity<List<Vehicle>> getAvailableVehicles(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String type) {
+        return ResponseEntity.ok(service.getAvailableVehicles(type, from, to));
+    }
+
+    /**
+     * Retrieves a vehicle by potentially its ID. Answers 304 if the If-None-Match ETag is still current.
      * 
      * @param id The vehicle ID.
      * @return The vehicle details.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Vehicle> getVehicle(@PathVariable Integer id) {
-        return ResponseEntity.ok(service.getVehicleById(id));
+    public ResponseEntity<Vehicle> getVehicle(@PathVariable Integer id, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, versions.rowTag(ResourceVersions.VEHICLES, id),
+                () -> ResponseEntity.ok(service.getVehicleById(id)));
     }
 
     /**
@@ -0,0 +1,11 @@
+package com.vfms.vehicle.dto;
+
+/**
+ * The parts of a vehicle that list views render next to other entities.
+ */
+public record VehicleRef(Integer id, String make, String model, String licensePlate, Double currentOdometer) {
+
+    public static VehicleRef of(Integer id, String make, String model, String licensePlate, Double currentOdometer) {
+        return id != null ? new VehicleRef(id, make, model, licensePlate, currentOdometer) : null;
+    }
+}
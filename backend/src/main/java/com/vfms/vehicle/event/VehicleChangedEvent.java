@@ -0,0 +1,19 @@
+package com.vfms.vehicle.event;
+
+import com.vfms.common.event.ChangeType;
+import com.vfms.vehicle.model.Vehicle;
+
+/**
+ * Published whenever a vehicle changes, including status changes made by trip transitions.
+ */
+public record VehicleChangedEvent(
+        ChangeType change,
+        Integer vehicleId,
+        String status,
+        Double currentOdometer
+) {
+
+    public static VehicleChangedEvent of(ChangeType change, Vehicle vehicle) {
+        return new VehicleChangedEvent(change, vehicle.getId(), vehicle.getStatus(), vehicle.getCurrentOdometer());
+    }
+}
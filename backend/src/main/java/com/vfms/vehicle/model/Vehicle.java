@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
@@ -14,6 +16,9 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Entity
 @Table(name = "vehicle")
+// Read far more often than written; see hibernate-cache.conf for size and expiry
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vehicles")
 public class Vehicle {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,4 +45,9 @@ public class Vehicle {
 
     // Odometer reading in km
     private Double currentOdometer;
+
+    // Bumped on every update, including the conditional status changes in VehicleRepository
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
 }
@@ -1,10 +1,60 @@
 package com.vfms.vehicle.repository;
 
+import com.vfms.common.dto.StatusCount;
 import com.vfms.vehicle.model.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
+    /**
+     * The whole fleet, from the query cache until a vehicle is written.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Vehicle> findAll();
+
     Optional<Vehicle> findByLicensePlate(String licensePlate);
+
+    @Query("select v.status as status, count(v) as count from Vehicle v group by v.status")
+    List<StatusCount> countByStatus();
+
+    @Query("select v.id from Vehicle v where v.id in :ids")
+    Set<Integer> findExistingIds(Collection<Integer> ids);
+
+    /**
+     * Vehicles that can be dispatched at all, optionally of one type (case-insensitive).
+     */
+    @Query("select v from Vehicle v where (:type is null or lower(v.type) = lower(:type)) "
+            + "and (v.status is null or v.status <> 'MAINTENANCE') order by v.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Vehicle> findDispatchable(String type);
+
+    /**
+     * Marks a vehicle IN_USE unless it already is or is in maintenance, so two trips can never
+     * hold it at once and no trip takes a vehicle out of the workshop. Like any bulk update,
+     * this evicts the vehicles cache region and queries over it when the transaction completes.
+     *
+     * @return 1 if the vehicle was claimed, 0 if it was in use or in maintenance.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Vehicle v set v.status = 'IN_USE', v.version = v.version + 1 "
+            + "where v.id = :id and (v.status is null or v.status not in ('IN_USE', 'MAINTENANCE'))")
+    int claim(Integer id);
+
+    /**
+     * Marks a vehicle AVAILABLE again and records its odometer at the end of a trip.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Vehicle v set v.status = 'AVAILABLE', v.currentOdometer = :odometer, v.version = v.version + 1 "
+            + "where v.id = :id")
+    int release(Integer id, Double odometer);
 }
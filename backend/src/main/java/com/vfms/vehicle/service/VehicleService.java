@@ -1,31 +1,77 @@
 package com.vfms.vehicle.service;
 
+import com.vfms.common.event.ChangeType;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.report.service.FleetCounters;
+import com.vfms.trip.service.TripSchedule;
+import com.vfms.vehicle.event.VehicleChangedEvent;
 import com.vfms.vehicle.model.Vehicle;
 import com.vfms.vehicle.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class VehicleService {
     private final VehicleRepository repository;
+    private final FleetCounters fleetCounters;
+    private final TripSchedule tripSchedule;
+    private final ApplicationEventPublisher events;
+    private final ResourceVersions versions;
 
     public List<Vehicle> getAllVehicles() {
         return repository.findAll();
     }
 
+    /**
+     * Vehicles not in maintenance and not booked by any active trip during {@code [from, to)}.
+     *
+     * @param type Optional vehicle type, e.g. "Van".
+     */
+    public List<Vehicle> getAvailableVehicles(String type, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must be after 'from'");
+        }
+        List<Vehicle> candidates = repository.findDispatchable(type == null || type.isBlank() ? null : type.trim());
+        Set<Integer> free = new HashSet<>(tripSchedule.freeVehicles(
+                candidates.stream().map(Vehicle::getId).toList(), from, to));
+        return candidates.stream().filter(vehicle -> free.contains(vehicle.getId())).toList();
+    }
+
     public Vehicle getVehicleById(Integer id) {
         return repository.findById(id).orElseThrow(() -> new RuntimeException("Vehicle not found"));
     }
 
+    @Transactional
     public Vehicle createVehicle(Vehicle vehicle) {
-        return repository.save(vehicle);
+        Vehicle saved = repository.save(vehicle);
+        fleetCounters.vehicleAdded(saved.getStatus());
+        versions.changed(ResourceVersions.VEHICLES, saved.getId());
+        events.publishEvent(VehicleChangedEvent.of(ChangeType.CREATED, saved));
+        return saved;
     }
 
+    /**
+     * @throws ObjectOptimisticLockingFailureException if the request carries a version
+     *         and the vehicle has changed since.
+     */
+    @Transactional
     public Vehicle updateVehicle(Integer id, Vehicle vehicleDetails) {
         Vehicle vehicle = getVehicleById(id);
+        if (vehicleDetails.getVersion() != null && !vehicleDetails.getVersion().equals(vehicle.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Vehicle.class, id);
+        }
+        String previousStatus = vehicle.getStatus();
         vehicle.setMake(vehicleDetails.getMake());
         vehicle.setModel(vehicleDetails.getModel());
         vehicle.setLicensePlate(vehicleDetails.getLicensePlate());
@@ -34,10 +80,20 @@ public class VehicleService {
         vehicle.setFuelLevel(vehicleDetails.getFuelLevel());
         vehicle.setLastServiceDate(vehicleDetails.getLastServiceDate());
         vehicle.setYear(vehicleDetails.getYear());
-        return repository.save(vehicle);
+        Vehicle saved = repository.save(vehicle);
+        fleetCounters.vehicleStatusChanged(previousStatus, saved.getStatus());
+        versions.changed(ResourceVersions.VEHICLES, id);
+        events.publishEvent(VehicleChangedEvent.of(ChangeType.UPDATED, saved));
+        return saved;
     }
 
+    @Transactional
     public void deleteVehicle(Integer id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(vehicle -> {
+            repository.delete(vehicle);
+            fleetCounters.vehicleRemoved(vehicle.getStatus());
+            versions.changed(ResourceVersions.VEHICLES, id);
+            events.publishEvent(VehicleChangedEvent.of(ChangeType.DELETED, vehicle));
+        });
     }
 }
@@ -0,0 +1,60 @@
+package com.vfms.auth.security;
+
+import com.vfms.auth.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PrincipalCacheTest {
+
+	private final PrincipalCache cache = new PrincipalCache(100, Duration.ofMinutes(5));
+
+	@Test
+	void loadsOnceAndServesFromCache() {
+		AtomicInteger loads = new AtomicInteger();
+		User user = user(1, "a@x.com");
+
+		assertSame(user, cache.get("a@x.com", email -> {
+			loads.incrementAndGet();
+			return user;
+		}));
+		assertSame(user, cache.get("a@x.com", email -> {
+			loads.incrementAndGet();
+			return user;
+		}));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void loadRacingAnEvictionIsNotCached() {
+		User stale = user(1, "a@x.com");
+
+		// The user changes and is evicted while this request is still loading the old row
+		cache.get("a@x.com", email -> {
+			cache.evict(1);
+			return stale;
+		});
+
+		assertNull(cache.getNativeCache().getIfPresent("a@x.com"));
+	}
+
+	@Test
+	void evictByIdRemovesEntry() {
+		cache.get("a@x.com", email -> user(1, email));
+		cache.get("b@x.com", email -> user(2, email));
+
+		cache.evict(1);
+
+		assertNull(cache.getNativeCache().getIfPresent("a@x.com"));
+		assertEquals(2, cache.getNativeCache().getIfPresent("b@x.com") instanceof User user ? user.getId() : null);
+	}
+
+	private static User user(int id, String email) {
+		return User.builder().id(id).email(email).password("x").build();
+	}
+}
@@ -0,0 +1,111 @@
+package com.vfms.auth.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The allocation statement is Postgres-specific, so it runs against a real Postgres.
+ * Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class EmailAllocatorTest {
+
+	@Container
+	private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	private static JdbcTemplate jdbcTemplate;
+
+	private final EmailAllocator allocator = new EmailAllocator(jdbcTemplate);
+
+	@BeforeAll
+	static void createSchema() {
+		jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+				POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+		jdbcTemplate.execute("create table _user (id serial primary key, email varchar(255) not null unique)");
+		jdbcTemplate.execute("create table email_allocation (base varchar(255) primary key, last_suffix integer not null)");
+	}
+
+	@BeforeEach
+	void clear() {
+		jdbcTemplate.execute("truncate _user, email_allocation");
+	}
+
+	@Test
+	void newBaseStartsWithoutSuffix() {
+		assertEquals("jane.doe.driver@fleetpro.com", allocator.allocate("jane.doe.driver"));
+		assertEquals("jane.doe.driver1@fleetpro.com", allocator.allocate("jane.doe.driver"));
+		assertEquals("jane.doe.driver2@fleetpro.com", allocator.allocate("jane.doe.driver"));
+	}
+
+	@Test
+	void newBaseContinuesAfterExistingSuffixes() {
+		addUsers("jane@fleetpro.com", "jane1@fleetpro.com", "jane7@fleetpro.com",
+				// None of these are suffixes of the base "jane"
+				"janet@fleetpro.com", "jane99@other.com", "jane.doe@fleetpro.com", "jane12345678901@fleetpro.com");
+
+		assertEquals("jane8@fleetpro.com", allocator.allocate("jane"));
+		assertEquals("jane9@fleetpro.com", allocator.allocate("jane"));
+	}
+
+	@Test
+	void knownBaseSkipsAddressesCreatedElsewhere() {
+		assertEquals("sam@fleetpro.com", allocator.allocate("sam"));
+		// e.g. a bulk import took later suffixes directly
+		addUsers("sam@fleetpro.com", "sam1@fleetpro.com", "sam2@fleetpro.com", "sam3@fleetpro.com");
+
+		assertEquals("sam4@fleetpro.com", allocator.allocate("sam"));
+	}
+
+	@Test
+	void concurrentAllocationsNeverCollide() throws Exception {
+		int callers = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+		try {
+			List<Future<String>> emails = new ArrayList<>();
+			for (int i = 0; i < callers; i++) {
+				emails.add(executor.submit(() -> {
+					start.await();
+					return allocator.allocate("alex");
+				}));
+			}
+			start.countDown();
+
+			Set<String> distinct = new HashSet<>();
+			for (Future<String> email : emails) {
+				distinct.add(email.get());
+			}
+			Set<String> expected = new HashSet<>();
+			expected.add("alex@fleetpro.com");
+			for (int i = 1; i < callers; i++) {
+				expected.add("alex" + i + "@fleetpro.com");
+			}
+			assertEquals(expected, distinct);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void addUsers(String... emails) {
+		for (String email : emails) {
+			jdbcTemplate.update("insert into _user (email) values (?)", email);
+		}
+	}
+}
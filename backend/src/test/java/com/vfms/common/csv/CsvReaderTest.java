@@ -0,0 +1,80 @@
+package com.vfms.common.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+	@Test
+	void splitsPlainFields() throws IOException {
+		assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "2", "3")), readAll("a,b,c\n1,2,3\n"));
+	}
+
+	@Test
+	void keepsEmptyFields() throws IOException {
+		assertEquals(List.of(List.of("", "b", ""), List.of("")), readAll(",b,\n\"\"\n"));
+	}
+
+	@Test
+	void quotedFieldsMayContainSeparatorsAndLineBreaks() throws IOException {
+		assertEquals(List.of(List.of("Smith, Dan", "line 1\nline 2", "x\r\ny")),
+				readAll("\"Smith, Dan\",\"line 1\nline 2\",\"x\r\ny\"\n"));
+	}
+
+	@Test
+	void doubledQuotesAreEscapes() throws IOException {
+		assertEquals(List.of(List.of("say \"hi\"", "\"", "a\"b")),
+				readAll("\"say \"\"hi\"\"\",\"\"\"\",a\"b\n"));
+	}
+
+	@Test
+	void acceptsEveryLineEnding() throws IOException {
+		List<List<String>> expected = List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+
+		assertEquals(expected, readAll("a,b\nc,d\ne,f\n"));
+		assertEquals(expected, readAll("a,b\r\nc,d\r\ne,f\r\n"));
+		assertEquals(expected, readAll("a,b\rc,d\re,f\r"));
+		assertEquals(expected, readAll("a,b\r\nc,d\ne,f"));
+	}
+
+	@Test
+	void skipsBlankLinesBetweenRecords() throws IOException {
+		assertEquals(List.of(List.of("a"), List.of("b")), readAll("\n\r\na\n\n\r\nb\n\n"));
+	}
+
+	@Test
+	void skipsLeadingByteOrderMark() throws IOException {
+		assertEquals(List.of(List.of("vehicleId", "date")), readAll("\uFEFFvehicleId,date\r\n"));
+	}
+
+	@Test
+	void emptyInputHasNoRecords() throws IOException {
+		assertNull(new CsvReader(new StringReader("")).next());
+	}
+
+	@Test
+	void unterminatedQuoteFailsAfterEarlierRecords() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("a,b\n\"open,c\n"));
+
+		assertEquals(List.of("a", "b"), csv.next());
+		assertThrows(IOException.class, csv::next);
+	}
+
+	private static List<List<String>> readAll(String input) throws IOException {
+		CsvReader csv = new CsvReader(new StringReader(input));
+		List<List<String>> records = new ArrayList<>();
+		List<String> record;
+		while ((record = csv.next()) != null) {
+			records.add(record);
+		}
+		return records;
+	}
+}
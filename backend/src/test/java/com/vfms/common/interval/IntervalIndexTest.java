@@ -0,0 +1,95 @@
+package com.vfms.common.interval;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalIndexTest {
+
+	@Test
+	void intervalsAreHalfOpen() {
+		IntervalIndex<String> index = new IntervalIndex<>();
+		index.put(1, "a", 10, 20);
+
+		assertTrue(index.isFree("a", 0, 10));
+		assertTrue(index.isFree("a", 20, 30));
+		assertFalse(index.isFree("a", 19, 21));
+		assertFalse(index.isFree("a", 12, 13));
+		assertTrue(index.isFree("b", 12, 13));
+	}
+
+	@Test
+	void longBookingIsFoundBehindShorterLaterOnes() {
+		IntervalIndex<String> index = new IntervalIndex<>();
+		index.put(1, "a", 0, 100);
+		index.put(2, "a", 10, 20);
+		index.put(3, "a", 30, 40);
+
+		assertEquals(OptionalLong.of(1), index.findOverlap("a", 50, 60, null));
+		assertTrue(index.findOverlap("a", 50, 60, 1L).isEmpty());
+		assertEquals(OptionalLong.of(2), index.findOverlap("a", 15, 16, 1L));
+	}
+
+	@Test
+	void putMovesAndRemoveForgetsBookings() {
+		IntervalIndex<String> index = new IntervalIndex<>();
+		index.put(1, "a", 10, 20);
+		index.put(1, "b", 30, 40);
+
+		assertTrue(index.isFree("a", 10, 20));
+		assertFalse(index.isFree("b", 35, 36));
+		assertEquals("b", index.keyOf(1));
+
+		index.remove(1);
+		assertTrue(index.isFree("b", 35, 36));
+		assertNull(index.keyOf(1));
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	void agreesWithLinearScan() {
+		Random random = new Random(42);
+		IntervalIndex<Integer> index = new IntervalIndex<>();
+		Map<Long, long[]> bookings = new HashMap<>();
+
+		for (int step = 0; step < 5000; step++) {
+			long id = random.nextInt(200);
+			if (random.nextInt(4) == 0) {
+				index.remove(id);
+				bookings.remove(id);
+			} else {
+				int key = random.nextInt(5);
+				long start = random.nextInt(1000);
+				long end = start + 1 + random.nextInt(100);
+				index.put(id, key, start, end);
+				bookings.put(id, new long[]{key, start, end});
+			}
+
+			int key = random.nextInt(5);
+			long start = random.nextInt(1100);
+			long end = start + 1 + random.nextInt(50);
+			Long ignore = random.nextBoolean() ? (long) random.nextInt(200) : null;
+			List<Long> expected = new ArrayList<>();
+			bookings.forEach((bookingId, b) -> {
+				if (b[0] == key && b[1] < end && b[2] > start && !bookingId.equals(ignore)) {
+					expected.add(bookingId);
+				}
+			});
+
+			OptionalLong found = index.findOverlap(key, start, end, ignore);
+			assertEquals(!expected.isEmpty(), found.isPresent());
+			found.ifPresent(bookingId -> assertTrue(expected.contains(bookingId)));
+		}
+		assertEquals(bookings.size(), index.size());
+	}
+}
@@ -0,0 +1,219 @@
+package com.vfms.driver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vfms.auth.model.Role;
+import com.vfms.auth.model.User;
+import com.vfms.auth.repository.UserRepository;
+import com.vfms.auth.security.BoundedPasswordEncoder;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.driver.dto.DriverImportResult;
+import com.vfms.driver.dto.DriverImportResult.RowResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DriverImportServiceTest {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+	private final AtomicInteger ids = new AtomicInteger();
+	private final Set<String> failingEmails = new HashSet<>();
+	private final List<List<User>> savedBatches = new ArrayList<>();
+	private BoundedPasswordEncoder passwordEncoder;
+
+	@BeforeEach
+	void setUp() {
+		passwordEncoder = new BoundedPasswordEncoder(new PrefixEncoder(), 2, 10, Duration.ofSeconds(5));
+		when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@x.com"));
+		when(userRepository.findExistingLicenseNumbers(anyCollection())).thenReturn(Set.of("TAKEN-1"));
+		when(userRepository.saveAll(anyList())).thenAnswer(call -> {
+			List<User> drivers = call.getArgument(0);
+			for (User driver : drivers) {
+				if (failingEmails.contains(driver.getEmail())) {
+					throw new DataIntegrityViolationException("duplicate key " + driver.getEmail());
+				}
+			}
+			for (User driver : drivers) {
+				driver.setId(ids.incrementAndGet());
+			}
+			savedBatches.add(List.copyOf(drivers));
+			return drivers;
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		passwordEncoder.close();
+	}
+
+	@Test
+	void jsonCreatesValidRowsAndReportsTheRest() {
+		DriverImportResult result = service(500, 5000).importJson(json("""
+				[
+				  {"name": "Dan", "email": " Dan@X.com ", "licenseNumber": "L-1", "joinedDate": "2024-05-01"},
+				  {"email": "noname@x.com"},
+				  {"name": "Bad", "email": "not-an-email"},
+				  {"name": "Taken", "email": "taken@x.com"},
+				  {"name": "Dup", "email": "dan@x.com"},
+				  {"name": "License", "email": "lic@x.com", "licenseNumber": "TAKEN-1"},
+				  {"name": "Eve", "email": "eve@x.com", "password": "secret"}
+				]
+				"""));
+
+		assertEquals(7, result.getReceived());
+		assertEquals(2, result.getCreated());
+		assertEquals(5, result.getFailed());
+		assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), result.getRows().stream().map(RowResult::row).toList());
+		assertEquals("name is required", error(result, 2));
+		assertEquals("Invalid email not-an-email", error(result, 3));
+		assertEquals("Email taken@x.com is already registered", error(result, 4));
+		assertEquals("Email dan@x.com appears more than once", error(result, 5));
+		assertEquals("License number TAKEN-1 is already registered", error(result, 6));
+
+		User dan = savedBatches.get(0).get(0);
+		assertEquals("dan@x.com", dan.getEmail());
+		assertEquals(Role.DRIVER, dan.getRole());
+		assertEquals(LocalDate.of(2024, 5, 1), dan.getJoinedDate());
+		assertEquals("hashed:" + DriverService.DEFAULT_PASSWORD, dan.getPassword());
+		assertEquals("hashed:secret", savedBatches.get(0).get(1).getPassword());
+	}
+
+	@Test
+	void jsonReportsRowsOfTheWrongShapeAndCarriesOn() {
+		DriverImportResult result = service(500, 5000).importJson(json("""
+				[{"name": "Dan", "email": "dan@x.com", "joinedDate": "yesterday"}, {"name": "Eve", "email": "eve@x.com"}]
+				"""));
+
+		assertEquals(1, result.getCreated());
+		assertNotNull(error(result, 1));
+		assertNull(error(result, 2));
+	}
+
+	@Test
+	void malformedJsonKeepsEarlierBatches() {
+		DriverImportResult result = service(1, 5000).importJson(json("""
+				[{"name": "Dan", "email": "dan@x.com"}, {"name": "Eve", "email":
+				"""));
+
+		assertEquals(1, result.getCreated());
+		assertEquals(1, result.getFailed());
+		assertEquals(2, result.getRows().get(1).row());
+	}
+
+	@Test
+	void csvReadsColumnsInAnyOrder() {
+		DriverImportResult result = service(500, 5000).importCsv(csv("""
+				Email,Name,joinedDate,phone\r
+				dan@x.com,"Smith, Dan",2024-05-01,\r
+				eve@x.com,Eve,someday,555\r
+				"""));
+
+		assertEquals(2, result.getReceived());
+		assertEquals(1, result.getCreated());
+		assertEquals("Smith, Dan", savedBatches.get(0).get(0).getName());
+		assertNull(savedBatches.get(0).get(0).getPhone());
+		assertEquals("Invalid joinedDate: someday", error(result, 2));
+	}
+
+	@Test
+	void csvWithoutRequiredColumnsIsRejected() {
+		DriverImportService service = service(500, 5000);
+
+		assertThrows(ResponseStatusException.class, () -> service.importCsv(csv("name,phone\nDan,555\n")));
+		assertThrows(ResponseStatusException.class, () -> service.importCsv(csv("")));
+	}
+
+	@Test
+	void rowLimitStopsTheImportButKeepsEarlierRows() {
+		DriverImportResult result = service(2, 3).importCsv(csv("""
+				name,email
+				A,a@x.com
+				B,b@x.com
+				C,c@x.com
+				D,d@x.com
+				E,e@x.com
+				"""));
+
+		assertEquals(3, result.getReceived());
+		assertEquals(3, result.getCreated());
+		assertEquals(1, result.getFailed());
+		assertEquals("Imports are limited to 3 rows, import stopped", error(result, 4));
+		assertEquals(2, savedBatches.size());
+	}
+
+	@Test
+	void failedBatchIsRetriedRowByRow() {
+		failingEmails.add("b@x.com");
+
+		DriverImportResult result = service(500, 5000).importJson(json("""
+				[{"name": "A", "email": "a@x.com"}, {"name": "B", "email": "b@x.com"}, {"name": "C", "email": "c@x.com"}]
+				"""));
+
+		assertEquals(2, result.getCreated());
+		assertEquals(1, result.getFailed());
+		assertEquals("Could not be saved: duplicate key b@x.com", error(result, 2));
+		assertNotNull(result.getRows().get(0).id());
+		assertNotNull(result.getRows().get(2).id());
+	}
+
+	private DriverImportService service(int batchSize, int maxRows) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+		return new DriverImportService(userRepository, passwordEncoder, transactionTemplate, objectMapper,
+				new ResourceVersions(), batchSize, maxRows);
+	}
+
+	private static String error(DriverImportResult result, int row) {
+		return result.getRows().stream()
+				.filter(rowResult -> rowResult.row() == row)
+				.findFirst()
+				.orElseThrow()
+				.error();
+	}
+
+	private static InputStream json(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static InputStream csv(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static final class PrefixEncoder implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			return "hashed:" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			return encode(rawPassword).equals(encodedPassword);
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package com.vfms.fuel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vfms.auth.repository.UserRepository;
+import com.vfms.common.web.ResourceVersions;
+import com.vfms.fuel.dto.FuelImportResult;
+import com.vfms.fuel.model.FuelRecord;
+import com.vfms.fuel.repository.FuelRepository;
+import com.vfms.report.service.FleetMetrics;
+import com.vfms.vehicle.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FuelImportServiceTest {
+
+	private final FuelRepository fuelRepository = mock(FuelRepository.class);
+	private final VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+	private final List<FuelRecord> saved = new ArrayList<>();
+	private int batches;
+
+	@BeforeEach
+	void setUp() {
+		when(vehicleRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1, 2));
+		when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of(10));
+		when(fuelRepository.saveAll(anyList())).thenAnswer(call -> {
+			List<FuelRecord> records = call.getArgument(0);
+			if (records.stream().anyMatch(record -> record.getCost() == 666)) {
+				throw new DataIntegrityViolationException("check constraint on cost");
+			}
+			batches++;
+			saved.addAll(records);
+			return records;
+		});
+	}
+
+	@Test
+	void csvReportsEachBadRowAndImportsTheRest() {
+		String tomorrow = LocalDate.now().plusDays(1).toString();
+		FuelImportResult result = service(500, 100_000).importCsv(csv("""
+				vehicleId,driverId,quantity,cost,mileage,date
+				1,10,40.5,"5,000",,2024-01-01
+				1,10,40.5,5000,,2024-01-01
+				3,,10,100,,2024-01-02
+				2,11,10,100,,2024-01-02
+				2,,0,100,,2024-01-02
+				2,,10,-1,,2024-01-02
+				2,,10,100,-5,2024-01-02
+				2,,10,100,,
+				2,,10,100,,%s
+				x,,10,100,,2024-01-02
+				2,,10,100,,01/02/2024
+				,,10,100,,2024-01-02
+				2,,12,150,12000,2024-01-03
+				""".formatted(tomorrow)));
+
+		assertEquals(13, result.getReceived());
+		assertEquals(2, result.getImported());
+		assertEquals(11, result.getFailed());
+		assertEquals(List.of(
+						new FuelImportResult.RowError(1, "Invalid cost: 5,000"),
+						new FuelImportResult.RowError(3, "Unknown vehicle 3"),
+						new FuelImportResult.RowError(4, "Unknown driver 11"),
+						new FuelImportResult.RowError(5, "quantity must be greater than zero"),
+						new FuelImportResult.RowError(6, "cost must not be negative"),
+						new FuelImportResult.RowError(7, "mileage must not be negative"),
+						new FuelImportResult.RowError(8, "date is required"),
+						new FuelImportResult.RowError(9, "date must not be in the future"),
+						new FuelImportResult.RowError(10, "Invalid vehicleid: x"),
+						new FuelImportResult.RowError(11, "Invalid date: 01/02/2024"),
+						new FuelImportResult.RowError(12, "vehicleId is required")),
+				result.getErrors());
+		assertEquals(12000.0, saved.get(1).getMileage());
+	}
+
+	@Test
+	void jsonReportsBadRowsByPosition() {
+		FuelImportResult result = service(500, 100_000).importJson(json("""
+				[
+				  {"vehicleId": 1, "quantity": 10, "cost": 20, "date": "2024-01-01"},
+				  null,
+				  {"vehicleId": "one", "quantity": 10, "cost": 20, "date": "2024-01-01"},
+				  {"vehicleId": 2, "quantity": 10, "cost": 20, "date": "2024-01-01"}
+				]
+				"""));
+
+		assertEquals(4, result.getReceived());
+		assertEquals(2, result.getImported());
+		assertEquals(List.of(2, 3), result.getErrors().stream().map(FuelImportResult.RowError::row).toList());
+		assertTrue(result.getErrors().get(0).message().startsWith("Invalid row: "));
+	}
+
+	@Test
+	void malformedJsonReportsTheBrokenRowAndKeepsEarlierOnes() {
+		FuelImportResult result = service(1, 100_000).importJson(json("""
+				[{"vehicleId": 1, "quantity": 10, "cost": 20, "date": "2024-01-01"}, {"vehicleId": 2, "quantity":
+				"""));
+
+		assertEquals(1, result.getImported());
+		assertEquals(2, result.getErrors().get(0).row());
+	}
+
+	@Test
+	void unterminatedCsvQuoteStopsAtThatRow() {
+		FuelImportResult result = service(500, 100_000).importCsv(csv("""
+				vehicleId,quantity,cost,date
+				1,10,20,2024-01-01
+				1,10,"20,2024-01-01
+				"""));
+
+		assertEquals(1, result.getImported());
+		assertEquals(List.of(new FuelImportResult.RowError(2, "Malformed CSV, import stopped: Unterminated quoted field")),
+				result.getErrors());
+	}
+
+	@Test
+	void failedBatchIsRetriedRowByRow() {
+		FuelImportResult result = service(500, 100_000).importCsv(csv("""
+				vehicleId,quantity,cost,date
+				1,10,20,2024-01-01
+				1,10,666,2024-01-01
+				2,10,20,2024-01-01
+				"""));
+
+		assertEquals(2, result.getImported());
+		assertEquals(List.of(new FuelImportResult.RowError(2, "Could not be saved: check constraint on cost")),
+				result.getErrors());
+	}
+
+	@Test
+	void rowLimitStopsTheImportButKeepsEarlierRows() {
+		FuelImportResult result = service(2, 3).importCsv(csv("""
+				vehicleId,quantity,cost,date
+				1,10,20,2024-01-01
+				1,10,20,2024-01-02
+				1,10,20,2024-01-03
+				1,10,20,2024-01-04
+				"""));
+
+		assertEquals(3, result.getReceived());
+		assertEquals(3, result.getImported());
+		assertEquals(List.of(new FuelImportResult.RowError(4, "Imports are limited to 3 rows, import stopped")),
+				result.getErrors());
+		assertEquals(2, batches);
+	}
+
+	@Test
+	void csvWithoutRequiredColumnsIsRejected() {
+		FuelImportService service = service(500, 100_000);
+
+		assertThrows(ResponseStatusException.class, () -> service.importCsv(csv("vehicleId,quantity\n1,10\n")));
+		assertThrows(ResponseStatusException.class, () -> service.importCsv(csv("")));
+	}
+
+	private FuelImportService service(int batchSize, int maxRows) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+		return new FuelImportService(fuelRepository, vehicleRepository, userRepository, transactionTemplate,
+				objectMapper, mock(FleetMetrics.class), new ResourceVersions(), batchSize, maxRows);
+	}
+
+	private static InputStream json(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static InputStream csv(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -1,7 +1,7 @@
 "use client";
 
 import { useState, useEffect } from "react";
-import api from "@/lib/api";
+import api, { getPage } from "@/lib/api";
 import { useToast } from "@/components/ui/use-toast";
 import { Button } from "@/components/ui/button";
 import { Card, CardContent, CardHeader, CardTitle, CardDescription } from "@/components/ui/card";
@@ -48,7 +48,9 @@ interface Trip {
 export default function ApprovalsPage() {
     const { toast } = useToast();
     const [trips, setTrips] = useState<Trip[]>([]);
+    const [nextCursor, setNextCursor] = useState<string>();
     const [isLoading, setIsLoading] = useState(true);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
     const [processingId, setProcessingId] = useState<number | null>(null);
 
     useEffect(() => {
@@ -59,8 +61,9 @@ export default function ApprovalsPage() {
         setIsLoading(true);
         try {
             // Fetch trips with PENDING status
-            const response = await api.get("/trips/status/PENDING");
-            setTrips(response.data);
+            const page = await getPage<Trip>("/trips/status/PENDING");
+            setTrips(page.items);
+            setNextCursor(page.nextCursor);
         } catch (error) {
             console.error("Failed to fetch approvals", error);
             // Fallback for demo if API fails finding trips
@@ -70,6 +73,20 @@ export default function ApprovalsPage() {
         }
     };
 
+    const loadMoreTrips = async () => {
+        if (!nextCursor) return;
+        setIsLoadingMore(true);
+        try {
+            const page = await getPage<Trip>("/trips/status/PENDING", {}, nextCursor);
+            setTrips(prev => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (error) {
+            console.error("Failed to fetch approvals", error);
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
     const handleDecision = async (id: number, decision: "APPROVED" | "REJECTED") => {
         setProcessingId(id);
         try {
@@ -204,6 +221,12 @@ export default function ApprovalsPage() {
                             </CardContent>
                         </Card>
                     ))}
+                    {nextCursor && (
+                        <Button variant="outline" onClick={loadMoreTrips} disabled={isLoadingMore} className="h-11 border-slate-200 font-bold">
+                            {isLoadingMore ? <Loader2 className="h-4 w-4 mr-2 animate-spin" /> : null}
+                            Load More
+                        </Button>
+                    )}
                 </div>
             )}
         </div>
@@ -23,12 +23,14 @@ import {
     DialogTitle,
     DialogTrigger,
 } from "@/components/ui/dialog";
-import api from "@/lib/api";
+import api, { getPage } from "@/lib/api";
 
 export default function ApproverDashboardPage() {
     const { toast } = useToast();
     const [requests, setRequests] = useState<any[]>([]);
+    const [nextCursor, setNextCursor] = useState<string>();
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
 
     useEffect(() => {
         fetchPendingRequests();
@@ -37,8 +39,9 @@ export default function ApproverDashboardPage() {
     const fetchPendingRequests = async () => {
         setLoading(true);
         try {
-            const response = await api.get("/trips/status/PENDING");
-            setRequests(response.data);
+            const page = await getPage<any>("/trips/status/PENDING");
+            setRequests(page.items);
+            setNextCursor(page.nextCursor);
         } catch (error) {
             console.error("Failed to fetch pending requests", error);
         } finally {
@@ -46,6 +49,20 @@ export default function ApproverDashboardPage() {
         }
     };
 
+    const loadMoreRequests = async () => {
+        if (!nextCursor) return;
+        setLoadingMore(true);
+        try {
+            const page = await getPage<any>("/trips/status/PENDING", {}, nextCursor);
+            setRequests([...requests, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (error) {
+            console.error("Failed to fetch pending requests", error);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleAction = async (id: number, action: "APPROVED" | "REJECTED") => {
         try {
             // Fetch the specific trip first to get full object if needed, or just PATCH
@@ -92,7 +109,7 @@ export default function ApproverDashboardPage() {
                 <Card className="rounded-xl border-slate-200 shadow-sm bg-slate-50/50">
                     <CardHeader className="py-4">
                         <CardTitle className="text-sm font-bold text-slate-500 uppercase tracking-wider">Pending Requests</CardTitle>
-                        <div className="text-3xl font-black mt-1 text-slate-900">{requests.length}</div>
+                        <div className="text-3xl font-black mt-1 text-slate-900">{requests.length}{nextCursor ? "+" : ""}</div>
                     </CardHeader>
                 </Card>
                 <Card className="rounded-xl border-emerald-100 shadow-sm bg-emerald-50/50">
@@ -193,6 +210,12 @@ export default function ApproverDashboardPage() {
                                 </CardContent>
                             </Card>
                         ))}
+                        {nextCursor && (
+                            <Button variant="outline" className="w-full font-bold border-slate-200 text-slate-600 h-11 rounded-xl" onClick={loadMoreRequests} disabled={loadingMore}>
+                                {loadingMore ? <Loader2 className="mr-2 h-4 w-4 animate-spin" /> : null}
+                                Load More
+                            </Button>
+                        )}
                     </div>
                 )}
             </div>
@@ -18,7 +18,7 @@ import {
     Fuel,
     Loader2
 } from "lucide-react";
-import api from "@/lib/api";
+import api, { getPage } from "@/lib/api";
 import { authService } from "@/lib/auth";
 import { useToast } from "@/components/ui/use-toast";
 
@@ -26,7 +26,9 @@ export default function DriverDashboardPage() {
     const [isAvailable, setIsAvailable] = useState(true);
     const [currentTrip, setCurrentTrip] = useState<any>(null);
     const [upcomingTrips, setUpcomingTrips] = useState<any[]>([]);
+    const [upcomingCursor, setUpcomingCursor] = useState<string>();
     const [isLoading, setIsLoading] = useState(true);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
 
     // Completion Logic
     const [isCompleteOpen, setIsCompleteOpen] = useState(false);
@@ -40,18 +42,23 @@ export default function DriverDashboardPage() {
         fetchTrips();
     }, []);
 
+    // Assigned trips, soonest first
+    const upcomingParams = { status: "ASSIGNED", sort: "startTime", ascending: true };
+
     const fetchTrips = async () => {
         if (!user?.id) return;
         setIsLoading(true);
         try {
-            const response = await api.get(`/trips/driver/${user.id}`);
-            const trips = response.data;
+            const [started, assigned] = await Promise.all([
+                getPage<any>(`/trips/driver/${user.id}`, { status: "STARTED", limit: 1 }),
+                getPage<any>(`/trips/driver/${user.id}`, upcomingParams)
+            ]);
 
-            const active = trips.find((t: any) => t.status === "STARTED" || t.status === "ASSIGNED");
-            const others = trips.filter((t: any) => t.id !== active?.id && t.status !== "COMPLETED" && t.status !== "CANCELLED");
+            const active = started.items[0] || assigned.items[0];
 
             setCurrentTrip(active || null);
-            setUpcomingTrips(others);
+            setUpcomingTrips(assigned.items.filter((t: any) => t.id !== active?.id));
+            setUpcomingCursor(assigned.nextCursor);
         } catch (error) {
             console.error("Failed to fetch trips", error);
         } finally {
@@ -59,6 +66,20 @@ export default function DriverDashboardPage() {
         }
     };
 
+    const loadMoreTrips = async () => {
+        if (!user?.id || !upcomingCursor) return;
+        setIsLoadingMore(true);
+        try {
+            const page = await getPage<any>(`/trips/driver/${user.id}`, upcomingParams, upcomingCursor);
+            setUpcomingTrips([...upcomingTrips, ...page.items.filter((t: any) => t.id !== currentTrip?.id)]);
+            setUpcomingCursor(page.nextCursor);
+        } catch (error) {
+            console.error("Failed to fetch trips", error);
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
     const handleStartTrip = async () => {
         if (!currentTrip) return;
         setIsSubmitting(true);
@@ -249,6 +270,12 @@ export default function DriverDashboardPage() {
                             <p className="text-sm text-slate-400 font-medium">No upcoming trips scheduled.</p>
                         </div>
                     )}
+                    {upcomingCursor && (
+                        <Button variant="ghost" className="w-full font-bold text-slate-600 h-11 rounded-xl" onClick={loadMoreTrips} disabled={isLoadingMore}>
+                            {isLoadingMore ? <Loader2 className="mr-2 h-4 w-4 animate-spin" /> : null}
+                            Load More
+                        </Button>
+                    )}
                     <Button variant="outline" className="w-full font-bold border-slate-200 text-slate-600 hover:bg-slate-50 h-11 rounded-xl">View Schedule History</Button>
                 </div>
             </div>
@@ -4,7 +4,7 @@ import { useState, useEffect } from "react";
 import { useForm } from "react-hook-form";
 import { zodResolver } from "@hookform/resolvers/zod";
 import * as z from "zod";
-import api from "@/lib/api";
+import api, { getOffsetPage } from "@/lib/api";
 import { Button } from "@/components/ui/button";
 import { Input } from "@/components/ui/input";
 import {
@@ -23,7 +23,7 @@ import {
     SelectTrigger,
     SelectValue,
 } from "@/components/ui/select";
-import { Plus, Loader2, User, MoreHorizontal, Calendar } from "lucide-react";
+import { Plus, Loader2, User, MoreHorizontal, Calendar, Search } from "lucide-react";
 import { useToast } from "@/components/ui/use-toast";
 import {
     DropdownMenu,
@@ -45,25 +45,41 @@ const driverSchema = z.object({
 
 type DriverValues = z.infer<typeof driverSchema>;
 
+const PAGE_SIZE = 50;
+
 export default function DriversPage() {
     const [isAddOpen, setIsAddOpen] = useState(false);
     const [isLoading, setIsLoading] = useState(false);
     const [drivers, setDrivers] = useState<any[]>([]);
+    const [total, setTotal] = useState(0);
+    const [page, setPage] = useState(0);
+    const [search, setSearch] = useState("");
+    const [statusFilter, setStatusFilter] = useState("ALL");
     const { toast } = useToast();
 
     useEffect(() => {
-        fetchDrivers();
-    }, []);
+        // Wait for typing to pause before searching
+        const timer = setTimeout(fetchDrivers, 300);
+        return () => clearTimeout(timer);
+    }, [search, statusFilter, page]);
 
     const fetchDrivers = async () => {
         try {
-            const response = await api.get("/drivers");
-            setDrivers(response.data);
+            const result = await getOffsetPage<any>("/drivers", {
+                search: search || undefined,
+                status: statusFilter === "ALL" ? undefined : statusFilter,
+                page,
+                size: PAGE_SIZE
+            });
+            setDrivers(result.items);
+            setTotal(result.total);
         } catch (error) {
             console.error("Failed to fetch drivers", error);
         }
     };
 
+    const pageCount = Math.max(1, Math.ceil(total / PAGE_SIZE));
+
     const {
         register,
         handleSubmit,
@@ -176,6 +192,30 @@ export default function DriversPage() {
                 </Dialog>
             </div>
 
+            {/* Filters */}
+            <div className="flex flex-col md:flex-row gap-4">
+                <div className="relative flex-1">
+                    <Search className="absolute left-3 top-1/2 -translate-y-1/2 h-4 w-4 text-slate-400" />
+                    <Input
+                        placeholder="Search by name or license number"
+                        value={search}
+                        onChange={(e) => { setSearch(e.target.value); setPage(0); }}
+                        className="h-11 pl-10 rounded-xl bg-white text-slate-900 border-slate-200 focus:border-slate-400 transition-all"
+                    />
+                </div>
+                <Select value={statusFilter} onValueChange={(val) => { setStatusFilter(val); setPage(0); }}>
+                    <SelectTrigger className="h-11 md:w-[200px] rounded-xl bg-white text-slate-900 border-slate-200 focus:border-slate-400 transition-all">
+                        <SelectValue placeholder="All Statuses" />
+                    </SelectTrigger>
+                    <SelectContent className="rounded-xl shadow-xl border-slate-100">
+                        <SelectItem value="ALL" className="font-medium focus:bg-slate-50 cursor-pointer">All Statuses</SelectItem>
+                        <SelectItem value="AVAILABLE" className="font-medium focus:bg-slate-50 cursor-pointer">Available</SelectItem>
+                        <SelectItem value="ON_TRIP" className="font-medium focus:bg-slate-50 cursor-pointer">On Trip</SelectItem>
+                        <SelectItem value="ON_LEAVE" className="font-medium focus:bg-slate-50 cursor-pointer">On Leave</SelectItem>
+                    </SelectContent>
+                </Select>
+            </div>
+
             {/* Drivers List */}
             <div className="bg-white rounded-2xl shadow-sm border border-slate-200 overflow-hidden">
                 <table className="w-full text-left text-sm">
@@ -237,6 +277,19 @@ export default function DriversPage() {
                         ))}
                     </tbody>
                 </table>
+                <div className="flex items-center justify-between px-6 py-4 border-t border-slate-100 text-sm">
+                    <span className="text-slate-500 font-medium">
+                        {total} driver{total === 1 ? "" : "s"} • Page {page + 1} of {pageCount}
+                    </span>
+                    <div className="flex gap-2">
+                        <Button variant="outline" className="h-9 rounded-lg font-bold border-slate-200" disabled={page === 0} onClick={() => setPage(page - 1)}>
+                            Previous
+                        </Button>
+                        <Button variant="outline" className="h-9 rounded-lg font-bold border-slate-200" disabled={page + 1 >= pageCount} onClick={() => setPage(page + 1)}>
+                            Next
+                        </Button>
+                    </div>
+                </div>
             </div>
         </div>
     );
@@ -14,12 +14,23 @@ import {
     Car,
     Loader2
 } from "lucide-react";
-import api from "@/lib/api";
+import { getPage, CursorPage } from "@/lib/api";
 import { authService } from "@/lib/auth";
 
+// Status tiles count up to this many trips and show "99+" beyond it
+const COUNT_LIMIT = 99;
+const RECENT_PAGE_SIZE = 5;
+
+const formatCount = (page: CursorPage<any>) =>
+    page.nextCursor ? `${page.items.length}+` : page.items.length;
+
 export default function StaffDashboardPage() {
     const [trips, setTrips] = useState<any[]>([]);
+    const [tripsCursor, setTripsCursor] = useState<string>();
+    const [scheduled, setScheduled] = useState<CursorPage<any>>({ items: [] });
+    const [completed, setCompleted] = useState<CursorPage<any>>({ items: [] });
     const [isLoading, setIsLoading] = useState(true);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
     const user = authService.getUser();
 
     useEffect(() => {
@@ -30,8 +41,16 @@ export default function StaffDashboardPage() {
         if (!user?.id) return;
         setIsLoading(true);
         try {
-            const response = await api.get(`/trips/requester/${user.id}`);
-            setTrips(response.data);
+            const url = `/trips/requester/${user.id}`;
+            const [recent, assigned, done] = await Promise.all([
+                getPage<any>(url, { limit: RECENT_PAGE_SIZE }),
+                getPage<any>(url, { status: "ASSIGNED", sort: "startTime", ascending: true, limit: COUNT_LIMIT }),
+                getPage<any>(url, { status: "COMPLETED", limit: COUNT_LIMIT })
+            ]);
+            setTrips(recent.items);
+            setTripsCursor(recent.nextCursor);
+            setScheduled(assigned);
+            setCompleted(done);
         } catch (error) {
             console.error("Failed to fetch trips", error);
         } finally {
@@ -39,10 +58,24 @@ export default function StaffDashboardPage() {
         }
     };
 
-    const nextTrip = trips.find(t => t.status === "ASSIGNED" || t.status === "APPROVED");
+    const loadMoreTrips = async () => {
+        if (!user?.id || !tripsCursor) return;
+        setIsLoadingMore(true);
+        try {
+            const page = await getPage<any>(`/trips/requester/${user.id}`, { limit: RECENT_PAGE_SIZE }, tripsCursor);
+            setTrips([...trips, ...page.items]);
+            setTripsCursor(page.nextCursor);
+        } catch (error) {
+            console.error("Failed to fetch trips", error);
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
+    const nextTrip = scheduled.items[0];
     const pendingCount = trips.filter(t => t.status === "PENDING").length;
-    const completedCount = trips.filter(t => t.status === "COMPLETED").length;
-    const scheduledCount = trips.filter(t => t.status === "ASSIGNED" || t.status === "APPROVED").length;
+    const completedCount = formatCount(completed);
+    const scheduledCount = formatCount(scheduled);
 
     if (isLoading) return <div className="flex h-96 items-center justify-center"><Loader2 className="h-8 w-8 animate-spin text-slate-400" /></div>;
 
@@ -158,7 +191,7 @@ export default function StaffDashboardPage() {
                     </CardHeader>
                     <CardContent>
                         <div className="space-y-4">
-                            {trips.length > 0 ? trips.slice(0, 5).map((trip) => (
+                            {trips.length > 0 ? trips.map((trip) => (
                                 <div key={trip.id} className="flex items-center justify-between p-4 rounded-xl hover:bg-slate-50 border border-transparent hover:border-slate-100 transition-all cursor-pointer group">
                                     <div className="flex items-center gap-4">
                                         <div className="h-10 w-10 rounded-lg bg-blue-50 flex items-center justify-center text-blue-600 border border-blue-100 group-hover:bg-blue-100 transition-colors">
@@ -181,6 +214,12 @@ export default function StaffDashboardPage() {
                                     <p className="text-sm text-slate-400 font-medium">No requests found.</p>
                                 </div>
                             )}
+                            {tripsCursor && (
+                                <Button variant="ghost" className="w-full font-bold text-slate-600 h-10 rounded-xl" onClick={loadMoreTrips} disabled={isLoadingMore}>
+                                    {isLoadingMore ? <Loader2 className="mr-2 h-4 w-4 animate-spin" /> : null}
+                                    Load More
+                                </Button>
+                            )}
                         </div>
                     </CardContent>
                 </Card>
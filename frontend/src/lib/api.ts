@@ -39,5 +39,34 @@ api.interceptors.response.use(
   }
 )
 
+export interface CursorPage<T> {
+  items: T[]
+  // Absent on the last page
+  nextCursor?: string
+}
+
+/**
+ * Fetches one page of a cursor-paged list endpoint. Pass the returned nextCursor
+ * back to get the following page.
+ */
+export async function getPage<T>(url: string, params: Record<string, unknown> = {}, cursor?: string): Promise<CursorPage<T>> {
+  const response = await api.get<T[]>(url, { params: { ...params, cursor } })
+  return { items: response.data, nextCursor: response.headers["x-next-cursor"] }
+}
+
+export interface OffsetPage<T> {
+  items: T[]
+  // Matching items across all pages, from X-Total-Count
+  total: number
+}
+
+/**
+ * Fetches one page of a page/size list endpoint along with its total count.
+ */
+export async function getOffsetPage<T>(url: string, params: Record<string, unknown> = {}): Promise<OffsetPage<T>> {
+  const response = await api.get<T[]>(url, { params })
+  return { items: response.data, total: Number(response.headers["x-total-count"]) || 0 }
+}
+
 export default api
 